@@ -0,0 +1,57 @@
+package com.github.gfranks.checkable.view.sample;
+
+import android.test.InstrumentationTestCase;
+import android.test.UiThreadTest;
+
+import com.github.gfranks.checkable.view.RenderStats;
+
+/**
+ * Runs every stress scenario headless through the same code paths as {@link StressActivity}
+ */
+public class StressScenarioTest extends InstrumentationTestCase {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int STEPS = 200;
+
+    private HeadlessStressRunner mRunner;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mRunner = new HeadlessStressRunner(WIDTH, HEIGHT);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        RenderStats.setEnabled(false);
+        super.tearDown();
+    }
+
+    @UiThreadTest
+    public void testListRecyclesTiles() {
+        StressScenario scenario = StressScenario.create(getInstrumentation().getTargetContext(), StressScenario.Type.LIST);
+        mRunner.run(scenario, STEPS);
+        // only the tiles on screen are ever inflated
+        assertTrue(RenderStats.getGlobal().getInflations() < ListStressScenario.TILE_COUNT / 10);
+    }
+
+    @UiThreadTest
+    public void testGroupKeepsOneSelection() {
+        GroupStressScenario scenario = (GroupStressScenario) StressScenario.create(getInstrumentation().getTargetContext(),
+                StressScenario.Type.GROUP);
+        mRunner.run(scenario, STEPS);
+        assertEquals(GroupStressScenario.TILE_COUNT, RenderStats.getGlobal().getInflations());
+        assertEquals(1, scenario.getCheckableGroup().getCheckedCheckableViews().size());
+    }
+
+    @UiThreadTest
+    public void testSelectAllLoop() {
+        StressScenario scenario = StressScenario.create(getInstrumentation().getTargetContext(), StressScenario.Type.SELECT_ALL);
+        mRunner.run(scenario, STEPS);
+        // drawables are only built while inflating, never while toggling
+        assertTrue(RenderStats.getGlobal().getDrawableRebuilds() <= 2 * GroupStressScenario.TILE_COUNT);
+        // toggles are animated as they are on screen, the last ones are still running
+        assertTrue(mRunner.getAnimationClock().getAnimatingCount() > 0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.gfranks.checkable.view.sample;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+
+/**
+ * Counts rendered frames with a Choreographer frame callback. Choreographer is public from API 16 only, on older
+ * versions no frame rate is available.
+ */
+public class FrameRateMonitor {
+
+    private FrameCounter mFrameCounter;
+
+    public static boolean isSupported() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN;
+    }
+
+    public void start() {
+        if (isSupported() && mFrameCounter == null) {
+            mFrameCounter = new FrameCounter();
+            mFrameCounter.start();
+        }
+    }
+
+    public void stop() {
+        if (mFrameCounter != null) {
+            mFrameCounter.stop();
+            mFrameCounter = null;
+        }
+    }
+
+    /**
+     * Returns the frame rate since the previous call and starts a new measurement window
+     *
+     * @return Frames per second, or -1 if not supported or not started
+     */
+    public float sample() {
+        return mFrameCounter != null ? mFrameCounter.sample() : -1;
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class FrameCounter implements Choreographer.FrameCallback {
+
+        private int mFrames;
+        private long mWindowStartNanos;
+        private boolean mIsRunning;
+
+        void start() {
+            mIsRunning = true;
+            mFrames = 0;
+            mWindowStartNanos = System.nanoTime();
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        void stop() {
+            mIsRunning = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        float sample() {
+            long now = System.nanoTime();
+            float fps = mFrames * 1000000000f / Math.max(1, now - mWindowStartNanos);
+            mFrames = 0;
+            mWindowStartNanos = now;
+            return fps;
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (mIsRunning) {
+                mFrames++;
+                Choreographer.getInstance().postFrameCallback(this);
+            }
+        }
+    }
+}
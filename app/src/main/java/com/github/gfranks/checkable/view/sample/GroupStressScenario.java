@@ -0,0 +1,74 @@
+package com.github.gfranks.checkable.view.sample;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.LinearLayout;
+import android.widget.ScrollView;
+
+import com.github.gfranks.checkable.view.AnimationClock;
+import com.github.gfranks.checkable.view.CheckableGroup;
+
+/**
+ * A scrolling CheckableGroup grid of {@link #ROW_COUNT} rows of {@link #COLUMN_COUNT} tiles. Each step moves the
+ * exclusive selection to the next tile.
+ */
+public class GroupStressScenario extends StressScenario {
+
+    public static final int ROW_COUNT = 40;
+    public static final int COLUMN_COUNT = 5;
+    public static final int TILE_COUNT = ROW_COUNT * COLUMN_COUNT;
+
+    private CheckableGroup mCheckableGroup;
+
+    public GroupStressScenario(Context context) {
+        super(context);
+    }
+
+    public CheckableGroup getCheckableGroup() {
+        return mCheckableGroup;
+    }
+
+    @Override
+    public int getTitleResId() {
+        return R.string.stress_group;
+    }
+
+    @Override
+    public int getStepInterval() {
+        return 100;
+    }
+
+    @Override
+    public void step(int iteration) {
+        mCheckableGroup.setCheckedByKey(iteration % TILE_COUNT + 1, true);
+    }
+
+    @Override
+    public void setAnimationClock(AnimationClock animationClock) {
+        getView();
+        mCheckableGroup.setAnimationClock(animationClock);
+    }
+
+    @Override
+    protected View onCreateView() {
+        LayoutInflater inflater = LayoutInflater.from(getContext());
+        mCheckableGroup = new CheckableGroup(getContext());
+        mCheckableGroup.setOrientation(LinearLayout.VERTICAL);
+        for (int row = 0; row < ROW_COUNT; row++) {
+            LinearLayout rowLayout = new LinearLayout(getContext());
+            rowLayout.setOrientation(LinearLayout.HORIZONTAL);
+            for (int column = 0; column < COLUMN_COUNT; column++) {
+                View tile = inflater.inflate(R.layout.item_stress_grid_tile, rowLayout, false);
+                // ids double as keys, 0 is View.NO_ID
+                tile.setId(row * COLUMN_COUNT + column + 1);
+                rowLayout.addView(tile);
+            }
+            mCheckableGroup.addView(rowLayout);
+        }
+
+        ScrollView scrollView = new ScrollView(getContext());
+        scrollView.addView(mCheckableGroup);
+        return scrollView;
+    }
+}
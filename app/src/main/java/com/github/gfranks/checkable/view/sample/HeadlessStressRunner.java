@@ -0,0 +1,80 @@
+package com.github.gfranks.checkable.view.sample;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+
+import com.github.gfranks.checkable.view.AnimationClock;
+import com.github.gfranks.checkable.view.CheckableView;
+import com.github.gfranks.checkable.view.ManualAnimationClock;
+import com.github.gfranks.checkable.view.RenderStats;
+
+/**
+ * Runs a {@link StressScenario} without an Activity or window. Every step is followed by the animation frame, measure,
+ * layout and draw pass the framework would otherwise run. Animations are stepped by a {@link ManualAnimationClock}, as
+ * CheckableViews outside a window would otherwise apply every change instantly. Must be called on the main thread.
+ */
+public class HeadlessStressRunner {
+
+    private final int mWidth;
+    private final int mHeight;
+    private final ManualAnimationClock mAnimationClock;
+
+    /**
+     *
+     * @param width Width in pixels of the simulated screen
+     * @param height Height in pixels of the simulated screen
+     */
+    public HeadlessStressRunner(int width, int height) {
+        mWidth = width;
+        mHeight = height;
+        mAnimationClock = new ManualAnimationClock();
+    }
+
+    /**
+     *
+     * @return Clock stepping the animations of the scenarios run, advanced by one frame per step
+     */
+    public ManualAnimationClock getAnimationClock() {
+        return mAnimationClock;
+    }
+
+    /**
+     * Resets the global RenderStats and runs the scenario. The work done is available from {@link RenderStats#getGlobal()}
+     * afterwards.
+     *
+     * @param scenario Scenario to be run
+     * @param steps Number of steps to be applied
+     * @return Average time spent per step, including its frame, in milliseconds
+     */
+    public float run(StressScenario scenario, int steps) {
+        RenderStats.setEnabled(true);
+        RenderStats.getGlobal().reset();
+
+        AnimationClock defaultAnimationClock = CheckableView.getDefaultAnimationClock();
+        CheckableView.setDefaultAnimationClock(mAnimationClock);
+        try {
+            View view = scenario.getView();
+            scenario.setAnimationClock(mAnimationClock);
+            Canvas canvas = new Canvas(Bitmap.createBitmap(mWidth, mHeight, Bitmap.Config.ARGB_8888));
+            frame(view, canvas);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < steps; i++) {
+                scenario.step(i);
+                frame(view, canvas);
+            }
+            return steps > 0 ? (System.nanoTime() - start) / 1000000f / steps : 0;
+        } finally {
+            CheckableView.setDefaultAnimationClock(defaultAnimationClock);
+        }
+    }
+
+    private void frame(View view, Canvas canvas) {
+        mAnimationClock.advance(ManualAnimationClock.DEFAULT_FRAME_INTERVAL);
+        view.measure(View.MeasureSpec.makeMeasureSpec(mWidth, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(mHeight, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, mWidth, mHeight);
+        view.draw(canvas);
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.gfranks.checkable.view.sample;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.ListView;
+
+import com.github.gfranks.checkable.view.CheckableView;
+
+/**
+ * A recycled ListView of {@link #TILE_COUNT} CheckableView tiles. Each step checks a tile and jumps ahead so tiles
+ * are rebound from the recycler.
+ */
+public class ListStressScenario extends StressScenario {
+
+    public static final int TILE_COUNT = 1000;
+    private static final int STEP_SIZE = 7;
+
+    private static final int[] IMAGES = {
+            R.drawable.ic_task, R.drawable.ic_manage, R.drawable.ic_email, R.drawable.ic_call, R.drawable.ic_star,
+            R.drawable.ic_reminders
+    };
+
+    private final boolean[] mChecked = new boolean[TILE_COUNT];
+    private ListView mListView;
+
+    public ListStressScenario(Context context) {
+        super(context);
+    }
+
+    @Override
+    public int getTitleResId() {
+        return R.string.stress_list;
+    }
+
+    @Override
+    public int getStepInterval() {
+        return 16;
+    }
+
+    @Override
+    public void step(int iteration) {
+        int position = (iteration * STEP_SIZE) % TILE_COUNT;
+        mChecked[position] = !mChecked[position];
+        mListView.setSelection(position);
+        ((BaseAdapter) mListView.getAdapter()).notifyDataSetChanged();
+    }
+
+    @Override
+    protected View onCreateView() {
+        mListView = new ListView(getContext());
+        mListView.setAdapter(new TileAdapter());
+        return mListView;
+    }
+
+    private class TileAdapter extends BaseAdapter implements CheckableView.OnCheckedChangeListener {
+
+        @Override
+        public int getCount() {
+            return TILE_COUNT;
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return position;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return position;
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            CheckableView checkableView = (CheckableView) convertView;
+            if (checkableView == null) {
+                checkableView = (CheckableView) LayoutInflater.from(parent.getContext())
+                        .inflate(R.layout.item_stress_tile, parent, false);
+                checkableView.setOnCheckedChangeListener(this);
+            }
+
+            // bind never notifies the listener, only user changes are recorded
+            int image = IMAGES[position % IMAGES.length];
+            checkableView.bind(image, image, parent.getContext().getString(R.string.stress_tile_label, position),
+                    mChecked[position]);
+            checkableView.setKey(position);
+            return checkableView;
+        }
+
+        @Override
+        public void onCheckedChanged(CheckableView checkableView, boolean isChecked) {
+            mChecked[(Integer) checkableView.getKey()] = isChecked;
+        }
+    }
+}
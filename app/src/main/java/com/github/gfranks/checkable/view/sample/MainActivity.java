@@ -32,6 +32,16 @@ public class MainActivity extends ActionBarActivity implements CheckableView.OnC
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         int id = item.getItemId();
+        if (id == R.id.action_stress_list) {
+            startActivity(StressActivity.newIntent(this, StressScenario.Type.LIST));
+            return true;
+        } else if (id == R.id.action_stress_group) {
+            startActivity(StressActivity.newIntent(this, StressScenario.Type.GROUP));
+            return true;
+        } else if (id == R.id.action_stress_select_all) {
+            startActivity(StressActivity.newIntent(this, StressScenario.Type.SELECT_ALL));
+            return true;
+        }
 
         return super.onOptionsItemSelected(item);
     }
@@ -0,0 +1,38 @@
+package com.github.gfranks.checkable.view.sample;
+
+import android.content.Context;
+import android.view.View;
+
+import com.github.gfranks.checkable.view.CheckableGroup;
+
+/**
+ * The {@link GroupStressScenario} grid in multiple choice mode, alternately checking and clearing every tile.
+ */
+public class SelectAllStressScenario extends GroupStressScenario {
+
+    public SelectAllStressScenario(Context context) {
+        super(context);
+    }
+
+    @Override
+    public int getTitleResId() {
+        return R.string.stress_select_all;
+    }
+
+    @Override
+    public int getStepInterval() {
+        return 600;
+    }
+
+    @Override
+    public void step(int iteration) {
+        getCheckableGroup().setAllChecked(iteration % 2 == 0);
+    }
+
+    @Override
+    protected View onCreateView() {
+        View view = super.onCreateView();
+        getCheckableGroup().setChoiceMode(CheckableGroup.ChoiceMode.MULTIPLE);
+        return view;
+    }
+}
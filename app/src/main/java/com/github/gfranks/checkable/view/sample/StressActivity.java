@@ -0,0 +1,122 @@
+package com.github.gfranks.checkable.view.sample;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Debug;
+import android.os.Handler;
+import android.support.v7.app.ActionBarActivity;
+import android.support.v7.widget.Toolbar;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import com.github.gfranks.checkable.view.RenderStats;
+
+import java.util.Locale;
+
+/**
+ * Runs a {@link StressScenario} on screen with live frame rate, RenderStats, allocation and inflation time readouts
+ */
+public class StressActivity extends ActionBarActivity {
+
+    private static final String EXTRA_SCENARIO_TYPE = "scenario_type";
+    private static final int READOUT_INTERVAL = 500;
+
+    private final Handler mHandler = new Handler();
+    private final FrameRateMonitor mFrameRateMonitor = new FrameRateMonitor();
+
+    private StressScenario mScenario;
+    private TextView mReadout;
+    private int mIteration;
+    /**
+     * Global allocation counters at the previous readout, so each readout shows the allocations since the last one
+     */
+    private int mLastAllocCount;
+    private int mLastAllocSize;
+
+    private final Runnable mStepRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mScenario.step(mIteration++);
+            mHandler.postDelayed(this, mScenario.getStepInterval());
+        }
+    };
+
+    private final Runnable mReadoutRunnable = new Runnable() {
+        @Override
+        public void run() {
+            updateReadout();
+            mHandler.postDelayed(this, READOUT_INTERVAL);
+        }
+    };
+
+    public static Intent newIntent(Context context, StressScenario.Type type) {
+        Intent intent = new Intent(context, StressActivity.class);
+        intent.putExtra(EXTRA_SCENARIO_TYPE, type.name());
+        return intent;
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_stress);
+        setSupportActionBar((Toolbar) findViewById(R.id.activity_toolbar));
+
+        RenderStats.setEnabled(true);
+        RenderStats.getGlobal().reset();
+
+        StressScenario.Type type = StressScenario.Type.valueOf(getIntent().getStringExtra(EXTRA_SCENARIO_TYPE));
+        mScenario = StressScenario.create(this, type);
+        setTitle(mScenario.getTitleResId());
+        mReadout = (TextView) findViewById(R.id.stress_readout);
+        ((ViewGroup) findViewById(R.id.stress_container)).addView(mScenario.getView());
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        mFrameRateMonitor.start();
+        Debug.resetGlobalAllocCount();
+        Debug.resetGlobalAllocSize();
+        Debug.startAllocCounting();
+        mLastAllocCount = 0;
+        mLastAllocSize = 0;
+        mHandler.postDelayed(mStepRunnable, mScenario.getStepInterval());
+        mHandler.postDelayed(mReadoutRunnable, READOUT_INTERVAL);
+    }
+
+    @Override
+    protected void onPause() {
+        mHandler.removeCallbacks(mStepRunnable);
+        mHandler.removeCallbacks(mReadoutRunnable);
+        mFrameRateMonitor.stop();
+        Debug.stopAllocCounting();
+        super.onPause();
+    }
+
+    @Override
+    protected void onDestroy() {
+        RenderStats.setEnabled(false);
+        super.onDestroy();
+    }
+
+    private void updateReadout() {
+        float fps = mFrameRateMonitor.sample();
+        RenderStats renderStats = RenderStats.getGlobal();
+        int allocCount = Debug.getGlobalAllocCount();
+        int allocSize = Debug.getGlobalAllocSize();
+        mReadout.setText(getString(R.string.stress_readout,
+                fps >= 0 ? String.format(Locale.US, "%.1f", fps) : getString(R.string.stress_not_available),
+                mScenario.getInflationTimeMillis(),
+                mIteration,
+                renderStats.getInflations(),
+                renderStats.getDrawableRebuilds(),
+                renderStats.getAnimatorsCreated(),
+                renderStats.getLayoutRequests(),
+                renderStats.getHierarchyScans(),
+                allocCount - mLastAllocCount,
+                (allocSize - mLastAllocSize) / 1024));
+        mLastAllocCount = allocCount;
+        mLastAllocSize = allocSize;
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.gfranks.checkable.view.sample;
+
+import android.content.Context;
+import android.view.View;
+
+import com.github.gfranks.checkable.view.AnimationClock;
+
+/**
+ * A repeatable CheckableView workload. The scenario builds its View hierarchy and mutates it one step at a time
+ * without depending on an Activity or window, so the same code runs on screen in {@link StressActivity} and headless
+ * through {@link HeadlessStressRunner}.
+ */
+public abstract class StressScenario {
+
+    public enum Type {
+        LIST, GROUP, SELECT_ALL
+    }
+
+    private final Context mContext;
+    private View mView;
+    private long mInflationTimeNanos;
+
+    protected StressScenario(Context context) {
+        mContext = context;
+    }
+
+    /**
+     *
+     * @param context Context used to inflate the scenario
+     * @param type Type of the scenario to be created
+     * @return Newly created scenario
+     */
+    public static StressScenario create(Context context, Type type) {
+        switch (type) {
+            case LIST:
+                return new ListStressScenario(context);
+            case GROUP:
+                return new GroupStressScenario(context);
+            case SELECT_ALL:
+                return new SelectAllStressScenario(context);
+            default:
+                throw new IllegalArgumentException("Unknown scenario type: " + type);
+        }
+    }
+
+    public Context getContext() {
+        return mContext;
+    }
+
+    /**
+     *
+     * @return View hierarchy of the scenario, created and timed on first call
+     */
+    public View getView() {
+        if (mView == null) {
+            long start = System.nanoTime();
+            mView = onCreateView();
+            mInflationTimeNanos = System.nanoTime() - start;
+        }
+
+        return mView;
+    }
+
+    /**
+     *
+     * @return Time spent creating the View hierarchy of the scenario in milliseconds
+     */
+    public float getInflationTimeMillis() {
+        return mInflationTimeNanos / 1000000f;
+    }
+
+    /**
+     *
+     * @return Resource Id of the title of the scenario
+     */
+    public abstract int getTitleResId();
+
+    /**
+     *
+     * @return Delay in milliseconds between two steps when run on screen
+     */
+    public abstract int getStepInterval();
+
+    /**
+     * Applies one unit of work to the View hierarchy of the scenario
+     *
+     * @param iteration Number of steps applied before this one
+     */
+    public abstract void step(int iteration);
+
+    /**
+     * Sets the time source of the CheckableGroups of the scenario, which do not use the default clock of
+     * CheckableViews. Creates the View hierarchy if needed
+     *
+     * @param animationClock AnimationClock to be used, or null for {@link AnimationClock#SYSTEM}
+     * @see com.github.gfranks.checkable.view.CheckableView#setDefaultAnimationClock(AnimationClock)
+     */
+    public void setAnimationClock(AnimationClock animationClock) {
+    }
+
+    protected abstract View onCreateView();
+}
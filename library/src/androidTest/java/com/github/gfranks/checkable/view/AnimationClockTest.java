@@ -0,0 +1,171 @@
+package com.github.gfranks.checkable.view;
+
+import android.content.Context;
+import android.test.InstrumentationTestCase;
+import android.test.UiThreadTest;
+import android.widget.LinearLayout;
+
+import java.util.List;
+
+/**
+ * Steps CheckableView animations frame by frame with a ManualAnimationClock
+ */
+public class AnimationClockTest extends InstrumentationTestCase {
+
+    private static final int SIZE = CheckableTestFixtures.SIZE;
+    private static final int CHECKABLE_VIEW_COUNT = 20;
+    private static final int MAX_FRAMES = 100;
+
+    private Context mContext;
+    private ManualAnimationClock mAnimationClock;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mContext = getInstrumentation().getTargetContext();
+        RenderStats.setEnabled(true);
+        mAnimationClock = new ManualAnimationClock();
+        CheckableView.setDefaultAnimationClock(mAnimationClock);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        CheckableView.setDefaultAnimationClock(null);
+        RenderStats.setEnabled(false);
+        super.tearDown();
+    }
+
+    @UiThreadTest
+    public void testToggleTimelineEndsInCheckedState() {
+        CheckableView checkableView = CheckableTestFixtures.createInflatedCheckableView(mContext);
+        AnimationTimeline animationTimeline = new AnimationTimeline();
+        checkableView.setAnimationTimeline(animationTimeline);
+
+        checkableView.toggle();
+        int frames = mAnimationClock.advanceUntilIdle(ManualAnimationClock.DEFAULT_FRAME_INTERVAL, MAX_FRAMES);
+        assertTrue(frames > 1);
+        assertTrue(frames < MAX_FRAMES);
+
+        List<AnimationTimeline.Frame> timeline = animationTimeline.getFrames();
+        assertEquals(frames + 1, timeline.size());
+        for (int i = 1; i < timeline.size(); i++) {
+            assertTrue(timeline.get(i).getBackgroundFraction() >= timeline.get(i - 1).getBackgroundFraction());
+        }
+
+        AnimationTimeline.Frame lastFrame = animationTimeline.getLastFrame();
+        assertTrue(lastFrame.isChecked());
+        assertFalse(lastFrame.isAnimating());
+        assertEquals(0f, lastFrame.getCheckedImageTranslationY());
+        assertEquals(1f, lastFrame.getOverlayScale());
+        assertEquals(1f, lastFrame.getBackgroundFraction());
+    }
+
+    @UiThreadTest
+    public void testToggleSequenceEndsInLastState() {
+        CheckableView checkableView = CheckableTestFixtures.createInflatedCheckableView(mContext);
+        AnimationTimeline animationTimeline = new AnimationTimeline();
+        checkableView.setAnimationTimeline(animationTimeline);
+
+        // toggle again before each animation completes
+        for (int i = 0; i < 5; i++) {
+            checkableView.toggle();
+            mAnimationClock.advance(ManualAnimationClock.DEFAULT_FRAME_INTERVAL);
+        }
+        mAnimationClock.advanceUntilIdle(ManualAnimationClock.DEFAULT_FRAME_INTERVAL, MAX_FRAMES);
+
+        AnimationTimeline.Frame lastFrame = animationTimeline.getLastFrame();
+        assertTrue(lastFrame.isChecked());
+        assertFalse(lastFrame.isAnimating());
+        assertEquals(1f, lastFrame.getOverlayScale());
+    }
+
+    @UiThreadTest
+    public void testReversedToggleContinuesBackgroundFromCurrentFraction() {
+        CheckableView checkableView = CheckableTestFixtures.createInflatedCheckableView(mContext);
+        AnimationTimeline animationTimeline = new AnimationTimeline();
+        checkableView.setAnimationTimeline(animationTimeline);
+        RenderStats.getGlobal().reset();
+
+        checkableView.toggle();
+        mAnimationClock.advance(ManualAnimationClock.DEFAULT_FRAME_INTERVAL);
+        mAnimationClock.advance(ManualAnimationClock.DEFAULT_FRAME_INTERVAL);
+        float backgroundFraction = animationTimeline.getLastFrame().getBackgroundFraction();
+        assertTrue(backgroundFraction > 0);
+        assertTrue(backgroundFraction < 1);
+
+        // the background fades back from where it was rather than jumping to the checked color first
+        checkableView.toggle();
+        assertEquals(backgroundFraction, animationTimeline.getLastFrame().getBackgroundFraction());
+        mAnimationClock.advanceUntilIdle(ManualAnimationClock.DEFAULT_FRAME_INTERVAL, MAX_FRAMES);
+        assertEquals(0f, animationTimeline.getLastFrame().getBackgroundFraction());
+        assertEquals(0, RenderStats.getGlobal().getDrawableRebuilds());
+    }
+
+    @UiThreadTest
+    public void testSelectAllAdvancesEveryViewPerFrame() {
+        CheckableGroup checkableGroup = new CheckableGroup(mContext);
+        checkableGroup.setOrientation(LinearLayout.VERTICAL);
+        checkableGroup.setAnimationClock(mAnimationClock);
+        checkableGroup.setChoiceMode(CheckableGroup.ChoiceMode.MULTIPLE);
+        for (int i = 0; i < CHECKABLE_VIEW_COUNT; i++) {
+            checkableGroup.addView(CheckableTestFixtures.newInflatedCheckableView(mContext),
+                    new LinearLayout.LayoutParams(SIZE, SIZE / 4));
+        }
+        CheckableTestFixtures.layout(checkableGroup, SIZE, SIZE * 5);
+
+        checkableGroup.setAllChecked(true);
+        assertEquals(CHECKABLE_VIEW_COUNT, mAnimationClock.getAnimatingCount());
+        assertEquals(CHECKABLE_VIEW_COUNT, mAnimationClock.advance(ManualAnimationClock.DEFAULT_FRAME_INTERVAL));
+        mAnimationClock.advanceUntilIdle(ManualAnimationClock.DEFAULT_FRAME_INTERVAL, MAX_FRAMES);
+
+        assertEquals(0, mAnimationClock.getAnimatingCount());
+        assertEquals(CHECKABLE_VIEW_COUNT, checkableGroup.getCheckedCheckableViews().size());
+    }
+
+    @UiThreadTest
+    public void testNonePolicyAppliesStateInstantly() {
+        CheckableView checkableView = CheckableTestFixtures.createInflatedCheckableView(mContext);
+        checkableView.setAnimationPolicy(CheckableView.AnimationPolicy.NONE);
+
+        checkableView.toggle();
+        assertTrue(checkableView.isChecked());
+        assertEquals(0, mAnimationClock.getAnimatingCount());
+    }
+
+    @UiThreadTest
+    public void testReducedPolicyOnlyCrossfades() {
+        CheckableView checkableView = CheckableTestFixtures.createInflatedCheckableView(mContext);
+        checkableView.setAnimationPolicy(CheckableView.AnimationPolicy.REDUCED);
+        AnimationTimeline animationTimeline = new AnimationTimeline();
+        checkableView.setAnimationTimeline(animationTimeline);
+
+        checkableView.toggle();
+        mAnimationClock.advanceUntilIdle(ManualAnimationClock.DEFAULT_FRAME_INTERVAL, MAX_FRAMES);
+
+        List<AnimationTimeline.Frame> timeline = animationTimeline.getFrames();
+        for (int i = 0; i < timeline.size() - 1; i++) {
+            assertEquals(0f, timeline.get(i).getCheckedImageTranslationY());
+            assertEquals(0f, timeline.get(i).getNormalImageTranslationY());
+            assertEquals(1f, timeline.get(i).getOverlayScale());
+        }
+        assertTrue(animationTimeline.getLastFrame().isChecked());
+        assertFalse(animationTimeline.getLastFrame().isAnimating());
+        assertEquals(1f, checkableView.getCheckedImageView().getAlpha());
+        assertEquals(1f, checkableView.getNormalImageView().getAlpha());
+    }
+
+    @UiThreadTest
+    public void testViewPolicyOverridesGroupPolicy() {
+        CheckableGroup checkableGroup = new CheckableGroup(mContext);
+        checkableGroup.setAnimationPolicy(CheckableView.AnimationPolicy.NONE);
+        CheckableView autoView = new CheckableView(mContext);
+        CheckableView fullView = new CheckableView(mContext);
+        fullView.setAnimationPolicy(CheckableView.AnimationPolicy.FULL);
+        checkableGroup.addView(autoView);
+        checkableGroup.addView(fullView);
+        CheckableTestFixtures.layout(checkableGroup, SIZE, SIZE);
+
+        assertEquals(CheckableView.AnimationPolicy.NONE, autoView.getResolvedAnimationPolicy());
+        assertEquals(CheckableView.AnimationPolicy.FULL, fullView.getResolvedAnimationPolicy());
+    }
+}
@@ -0,0 +1,312 @@
+package com.github.gfranks.checkable.view;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+import android.test.UiThreadTest;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.widget.LinearLayout;
+import android.widget.ScrollView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Performance budgets for CheckableGroup. Raising a budget here should be a deliberate decision.
+ */
+public class CheckableGroupBudgetTest extends InstrumentationTestCase {
+
+    private static final int CHECKABLE_VIEW_COUNT = 20;
+    private static final int SIZE = 600;
+    private static final int DRAW_PASSES = 5;
+
+    private Context mContext;
+    private CheckableGroup mCheckableGroup;
+    private List<CheckableView> mCheckableViews;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mContext = getInstrumentation().getTargetContext();
+        RenderStats.setEnabled(true);
+
+        mCheckableGroup = new CheckableGroup(mContext);
+        mCheckableGroup.setOrientation(LinearLayout.VERTICAL);
+        mCheckableViews = new ArrayList<CheckableView>();
+        LinearLayout row = null;
+        for (int i = 0; i < CHECKABLE_VIEW_COUNT; i++) {
+            if (i % 4 == 0) {
+                row = new LinearLayout(mContext);
+                mCheckableGroup.addView(row);
+            }
+            CheckableView checkableView = CheckableTestFixtures.newInflatedCheckableView(mContext);
+            row.addView(checkableView, new LinearLayout.LayoutParams(SIZE / 4, SIZE / 8));
+            mCheckableViews.add(checkableView);
+        }
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        RenderStats.setEnabled(false);
+        super.tearDown();
+    }
+
+    @UiThreadTest
+    public void testDrawPassDoesNoRegistrationWork() {
+        layout();
+        long hierarchyScans = mCheckableGroup.getRenderStats().getHierarchyScans();
+
+        Canvas canvas = new Canvas(Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888));
+        for (int i = 0; i < DRAW_PASSES; i++) {
+            mCheckableGroup.draw(canvas);
+        }
+        assertEquals(hierarchyScans, mCheckableGroup.getRenderStats().getHierarchyScans());
+    }
+
+    @UiThreadTest
+    public void testLayoutRegistersEveryCheckableView() {
+        layout();
+        assertEquals(1, mCheckableGroup.getRenderStats().getHierarchyScans());
+        mCheckableViews.get(3).setChecked(true);
+        assertEquals(3, mCheckableGroup.getCheckedCheckableViewPosition());
+    }
+
+    @UiThreadTest
+    public void testToggleAndRelabelDoNoRegistrationWork() {
+        layout();
+        long hierarchyScans = mCheckableGroup.getRenderStats().getHierarchyScans();
+
+        mCheckableViews.get(1).toggle();
+        mCheckableViews.get(1).toggle();
+        mCheckableViews.get(2).setLabel("label");
+        layout();
+        assertNull(mCheckableGroup.findCheckableViewByKey("missing"));
+        assertEquals(hierarchyScans, mCheckableGroup.getRenderStats().getHierarchyScans());
+
+        // adding a CheckableView is still picked up
+        CheckableView checkableView = CheckableTestFixtures.newInflatedCheckableView(mContext);
+        mCheckableGroup.addView(checkableView);
+        layout();
+        assertEquals(hierarchyScans + 1, mCheckableGroup.getRenderStats().getHierarchyScans());
+        checkableView.setChecked(true);
+        assertSame(checkableView, mCheckableGroup.getCheckedCheckableView());
+    }
+
+    @UiThreadTest
+    public void testExclusiveSelectionTouchesTwoCheckableViews() {
+        layout();
+        mCheckableViews.get(0).setChecked(true);
+
+        CheckableTestFixtures.RecordingListener listener = new CheckableTestFixtures.RecordingListener();
+        mCheckableGroup.setOnCheckedChangeListener(listener);
+        mCheckableViews.get(CHECKABLE_VIEW_COUNT - 1).setChecked(true);
+
+        assertEquals(2, listener.mChanges.size());
+        assertTrue(listener.mChanges.contains(mCheckableViews.get(0)));
+        assertTrue(listener.mChanges.contains(mCheckableViews.get(CHECKABLE_VIEW_COUNT - 1)));
+        assertFalse(mCheckableViews.get(0).isChecked());
+        assertSame(mCheckableViews.get(CHECKABLE_VIEW_COUNT - 1), mCheckableGroup.getCheckedCheckableView());
+    }
+
+    @UiThreadTest
+    public void testBindKeepsSingleSelectionWithoutNotifying() {
+        layout();
+        mCheckableViews.get(0).setChecked(true);
+
+        CheckableTestFixtures.RecordingListener listener = new CheckableTestFixtures.RecordingListener();
+        mCheckableGroup.setOnCheckedChangeListener(listener);
+        CheckableView checkableView = mCheckableViews.get(5);
+        checkableView.bind(android.R.drawable.star_on, android.R.drawable.star_off, null, true);
+
+        assertTrue(checkableView.isChecked());
+        assertFalse(mCheckableViews.get(0).isChecked());
+        assertSame(checkableView, mCheckableGroup.getCheckedCheckableView());
+        assertEquals(1, mCheckableGroup.getCheckedCheckableViews().size());
+
+        checkableView.bind(android.R.drawable.star_on, android.R.drawable.star_off, null, false);
+        assertNull(mCheckableGroup.getCheckedCheckableView());
+        assertEquals(0, listener.mChanges.size());
+    }
+
+    @UiThreadTest
+    public void testKeySelectionDoesNoRegistrationWork() {
+        for (int i = 0; i < CHECKABLE_VIEW_COUNT; i++) {
+            mCheckableViews.get(i).setKey("key" + i);
+        }
+        layout();
+        long hierarchyScans = mCheckableGroup.getRenderStats().getHierarchyScans();
+
+        assertTrue(mCheckableGroup.setCheckedByKey("key7", true));
+        assertTrue(mCheckableGroup.isCheckedByKey("key7"));
+        assertEquals("key7", mCheckableGroup.getCheckedCheckableViewKey());
+        assertTrue(mCheckableGroup.setCheckedByKey("key12", true));
+        assertFalse(mCheckableGroup.isCheckedByKey("key7"));
+        assertFalse(mCheckableGroup.setCheckedByKey("missing", true));
+
+        mCheckableViews.get(12).setKey("renamed");
+        assertSame(mCheckableViews.get(12), mCheckableGroup.findCheckableViewByKey("renamed"));
+        assertNull(mCheckableGroup.findCheckableViewByKey("key12"));
+        assertEquals(hierarchyScans, mCheckableGroup.getRenderStats().getHierarchyScans());
+    }
+
+    @UiThreadTest
+    public void testSelectAllSharesOneFrameCallback() {
+        layout();
+        // a detached CheckableGroup applies changes instantly, a manual clock keeps its animations running
+        mCheckableGroup.setAnimationClock(new ManualAnimationClock());
+        mCheckableGroup.setChoiceMode(CheckableGroup.ChoiceMode.MULTIPLE);
+
+        mCheckableGroup.setAllChecked(true);
+        assertEquals(CHECKABLE_VIEW_COUNT, mCheckableGroup.getCheckedCheckableViews().size());
+        assertEquals(CHECKABLE_VIEW_COUNT, mCheckableGroup.getAnimationDriver().getAnimatingCount());
+
+        mCheckableGroup.setAllChecked(false);
+        assertEquals(0, mCheckableGroup.getCheckedCheckableViews().size());
+        assertEquals(CHECKABLE_VIEW_COUNT, mCheckableGroup.getAnimationDriver().getAnimatingCount());
+    }
+
+    @UiThreadTest
+    public void testDetachedSelectAllAnimatesNothing() {
+        layout();
+        mCheckableGroup.setChoiceMode(CheckableGroup.ChoiceMode.MULTIPLE);
+
+        // nobody can see a detached CheckableGroup on the system clock, so every change is applied instantly
+        mCheckableGroup.setAllChecked(true);
+        assertEquals(CHECKABLE_VIEW_COUNT, mCheckableGroup.getCheckedCheckableViews().size());
+        assertEquals(0, mCheckableGroup.getAnimationDriver().getAnimatingCount());
+    }
+
+    @UiThreadTest
+    public void testDragSelectsRowWithoutScanning() {
+        layout();
+        mCheckableGroup.setChoiceMode(CheckableGroup.ChoiceMode.MULTIPLE);
+        mCheckableGroup.setDragToSelectEnabled(true);
+        long hierarchyScans = mCheckableGroup.getRenderStats().getHierarchyScans();
+
+        float y = SIZE / 16;
+        long downTime = 0;
+        dispatchTouchEvent(downTime, MotionEvent.ACTION_DOWN, SIZE / 8, y);
+        dispatchTouchEvent(downTime, MotionEvent.ACTION_MOVE, SIZE / 2, y);
+        dispatchTouchEvent(downTime, MotionEvent.ACTION_MOVE, SIZE - SIZE / 8, y);
+        dispatchTouchEvent(downTime, MotionEvent.ACTION_UP, SIZE - SIZE / 8, y);
+
+        assertEquals(4, mCheckableGroup.getCheckedCheckableViews().size());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(mCheckableViews.get(i).isChecked());
+        }
+        assertEquals(hierarchyScans, mCheckableGroup.getRenderStats().getHierarchyScans());
+    }
+
+    @UiThreadTest
+    public void testSmallCheckableViewKeepsCellCountBounded() {
+        CheckableView smallView = CheckableTestFixtures.newInflatedCheckableView(mContext);
+        mCheckableGroup.addView(smallView, new LinearLayout.LayoutParams(SIZE / 64, SIZE / 64));
+        mCheckableViews.add(smallView);
+        layout();
+
+        SpatialIndex spatialIndex = new SpatialIndex();
+        spatialIndex.rebuild(mCheckableGroup, mCheckableViews);
+        // each row tile overlaps at most 3 x 2 median sized cells, however small the smallest tile is
+        assertTrue(spatialIndex.getCellCount() <= 6 * mCheckableViews.size());
+        assertEquals(SIZE / 64, spatialIndex.getMinEntrySize());
+        for (int i = 0; i < mCheckableViews.size(); i++) {
+            CheckableView checkableView = mCheckableViews.get(i);
+            Rect bounds = new Rect(0, 0, checkableView.getWidth(), checkableView.getHeight());
+            mCheckableGroup.offsetDescendantRectToMyCoords(checkableView, bounds);
+            assertSame(checkableView, spatialIndex.find(bounds.centerX(), bounds.centerY()));
+        }
+    }
+
+    public void testLongPressDragsVerticallyInsideScrollView() {
+        final ScrollView scrollView = new ScrollView(mContext);
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                scrollView.addView(mCheckableGroup);
+                mCheckableGroup.setChoiceMode(CheckableGroup.ChoiceMode.MULTIPLE);
+                mCheckableGroup.setDragToSelectEnabled(true);
+                CheckableTestFixtures.layout(scrollView, SIZE, SIZE / 2);
+            }
+        });
+
+        // rows are SIZE / 8 high, drag down the first column across three rows
+        final float x = SIZE / 8;
+        final float y = SIZE / 16;
+        final long downTime = SystemClock.uptimeMillis();
+        dispatchTouchEvent(scrollView, downTime, MotionEvent.ACTION_DOWN, x, y);
+        SystemClock.sleep(ViewConfiguration.getTapTimeout() + ViewConfiguration.getLongPressTimeout() + 200);
+        getInstrumentation().waitForIdleSync();
+        for (int i = 1; i <= 4; i++) {
+            dispatchTouchEvent(scrollView, downTime, MotionEvent.ACTION_MOVE, x, y + i * SIZE / 16);
+        }
+        dispatchTouchEvent(scrollView, downTime, MotionEvent.ACTION_UP, x, y + SIZE / 4);
+
+        assertEquals(0, scrollView.getScrollY());
+        assertEquals(3, mCheckableGroup.getCheckedCheckableViews().size());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(mCheckableViews.get(i * 4).isChecked());
+        }
+    }
+
+    public void testLongPressWithoutMoveTogglesOnce() {
+        final CheckableView checkableView = mCheckableViews.get(0);
+        final CheckableTestFixtures.RecordingListener listener = new CheckableTestFixtures.RecordingListener();
+        final int[] lastAction = new int[1];
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                layout();
+                mCheckableGroup.setChoiceMode(CheckableGroup.ChoiceMode.MULTIPLE);
+                mCheckableGroup.setDragToSelectEnabled(true);
+                mCheckableGroup.setOnCheckedChangeListener(listener);
+                checkableView.setOnTouchListener(new View.OnTouchListener() {
+                    @Override
+                    public boolean onTouch(View v, MotionEvent event) {
+                        lastAction[0] = event.getActionMasked();
+                        return false;
+                    }
+                });
+            }
+        });
+
+        final float x = SIZE / 8;
+        final float y = SIZE / 16;
+        final long downTime = SystemClock.uptimeMillis();
+        dispatchTouchEvent(mCheckableGroup, downTime, MotionEvent.ACTION_DOWN, x, y);
+        SystemClock.sleep(ViewConfiguration.getTapTimeout() + ViewConfiguration.getLongPressTimeout() + 200);
+        getInstrumentation().waitForIdleSync();
+        dispatchTouchEvent(mCheckableGroup, downTime, MotionEvent.ACTION_UP, x, y);
+        getInstrumentation().waitForIdleSync();
+
+        // the CheckableView must not see the up, which would click it and toggle it back
+        assertEquals(MotionEvent.ACTION_CANCEL, lastAction[0]);
+        assertTrue(checkableView.isChecked());
+        assertEquals(1, listener.mChanges.size());
+    }
+
+    private void dispatchTouchEvent(final View view, final long downTime, final int action, final float x, final float y) {
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, y, 0);
+                view.dispatchTouchEvent(event);
+                event.recycle();
+            }
+        });
+    }
+
+    private void dispatchTouchEvent(long downTime, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(downTime, downTime, action, x, y, 0);
+        mCheckableGroup.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    private void layout() {
+        CheckableTestFixtures.layout(mCheckableGroup, SIZE, SIZE);
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.gfranks.checkable.view;
+
+import android.content.Context;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CheckableViews and listeners shared by the instrumentation tests
+ */
+final class CheckableTestFixtures {
+
+    /**
+     * Width and height of the CheckableViews laid out by {@link #createInflatedCheckableView(Context)}
+     */
+    static final int SIZE = 300;
+
+    private CheckableTestFixtures() {
+    }
+
+    /**
+     *
+     * @param context Context used to create the CheckableView
+     * @return CheckableView which animates its state changes, not laid out
+     */
+    static CheckableView newInflatedCheckableView(Context context) {
+        CheckableView checkableView = new CheckableView(context);
+        // CheckableViews only animate once inflated, created from code the inflation must be finished here
+        checkableView.onFinishInflate();
+        return checkableView;
+    }
+
+    /**
+     *
+     * @param context Context used to create the CheckableView
+     * @return CheckableView which animates its state changes, laid out at {@link #SIZE}
+     */
+    static CheckableView createInflatedCheckableView(Context context) {
+        CheckableView checkableView = newInflatedCheckableView(context);
+        layout(checkableView, SIZE, SIZE);
+        return checkableView;
+    }
+
+    /**
+     * Runs the measure and layout passes the framework would run for a View attached to a window
+     *
+     * @param view View to be laid out
+     * @param width Exact width in pixels
+     * @param height Exact height in pixels
+     */
+    static void layout(View view, int width, int height) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, width, height);
+    }
+
+    /**
+     * Records the CheckableViews whose state changed, from a CheckableView, a CheckableGroup or a SelectionDomain
+     */
+    static class RecordingListener implements CheckableView.OnCheckedChangeListener,
+            CheckableGroup.OnCheckedChangeListener, SelectionDomain.OnCheckedChangeListener {
+
+        final List<CheckableView> mChanges = new ArrayList<CheckableView>();
+
+        @Override
+        public void onCheckedChanged(CheckableView checkableView, boolean isChecked) {
+            mChanges.add(checkableView);
+        }
+
+        @Override
+        public void onCheckedChanged(CheckableGroup checkableGroup, CheckableView checkableView, boolean isChecked) {
+            mChanges.add(checkableView);
+        }
+
+        @Override
+        public void onCheckedChanged(SelectionDomain selectionDomain, CheckableView checkableView, boolean isChecked) {
+            mChanges.add(checkableView);
+        }
+    }
+}
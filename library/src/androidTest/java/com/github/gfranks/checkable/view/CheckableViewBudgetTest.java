@@ -0,0 +1,191 @@
+package com.github.gfranks.checkable.view;
+
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.test.InstrumentationTestCase;
+import android.test.UiThreadTest;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Performance budgets for a single CheckableView. Raising a budget here should be a deliberate decision.
+ */
+public class CheckableViewBudgetTest extends InstrumentationTestCase {
+
+    private static final int MAX_DESCENDANT_VIEWS = 7;
+    private static final int MAX_SINGLE_IMAGE_DESCENDANT_VIEWS = 6;
+    private static final int MAX_CONSTRUCTION_DRAWABLE_REBUILDS = 2;
+    private static final int MAX_CONSTRUCTION_LAYOUT_REQUESTS = 1;
+    private static final int TOGGLE_COUNT = 10;
+
+    private Context mContext;
+    private ManualAnimationClock mAnimationClock;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mContext = getInstrumentation().getTargetContext();
+        RenderStats.setEnabled(true);
+        RenderStats.getGlobal().reset();
+        // these CheckableViews are never attached, a manual clock makes them animate anyway
+        mAnimationClock = new ManualAnimationClock();
+        CheckableView.setDefaultAnimationClock(mAnimationClock);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        CheckableView.setDefaultAnimationClock(null);
+        RenderStats.setEnabled(false);
+        super.tearDown();
+    }
+
+    @UiThreadTest
+    public void testConstructionDescendantBudget() {
+        CheckableView checkableView = new CheckableView(mContext);
+        assertTrue(countDescendants(checkableView) <= MAX_DESCENDANT_VIEWS);
+
+        checkableView.setSingleImage(true);
+        assertTrue(countDescendants(checkableView) <= MAX_SINGLE_IMAGE_DESCENDANT_VIEWS);
+    }
+
+    @UiThreadTest
+    public void testConstructionWorkBudget() {
+        CheckableView checkableView = new CheckableView(mContext);
+        RenderStats renderStats = checkableView.getRenderStats();
+        assertEquals(1, renderStats.getInflations());
+        assertTrue(renderStats.getDrawableRebuilds() <= MAX_CONSTRUCTION_DRAWABLE_REBUILDS);
+        assertTrue(renderStats.getLayoutRequests() <= MAX_CONSTRUCTION_LAYOUT_REQUESTS);
+        assertEquals(0, renderStats.getAnimatorsCreated());
+    }
+
+    @UiThreadTest
+    public void testSingleImageAnimatedToggleRebuildsNoDrawables() {
+        CheckableView checkableView = CheckableTestFixtures.createInflatedCheckableView(mContext);
+        checkableView.setSingleImage(true);
+        long drawableRebuilds = checkableView.getRenderStats().getDrawableRebuilds();
+        for (int i = 0; i < TOGGLE_COUNT; i++) {
+            toggleAnimated(checkableView);
+        }
+        assertEquals(drawableRebuilds, checkableView.getRenderStats().getDrawableRebuilds());
+    }
+
+    @UiThreadTest
+    public void testSystemClockTogglesShareOneTicker() {
+        // the ticker only exists on the system clock, drive it directly as detached CheckableViews never animate
+        AnimationDriver animationDriver = new AnimationDriver();
+        CheckableView[] checkableViews = new CheckableView[TOGGLE_COUNT];
+        for (int i = 0; i < TOGGLE_COUNT; i++) {
+            checkableViews[i] = CheckableTestFixtures.createInflatedCheckableView(mContext);
+        }
+        long animatorsCreated = RenderStats.getGlobal().getAnimatorsCreated();
+
+        for (int toggle = 0; toggle < TOGGLE_COUNT; toggle++) {
+            for (int i = 0; i < TOGGLE_COUNT; i++) {
+                animationDriver.start(checkableViews[i]);
+            }
+            assertEquals(TOGGLE_COUNT, animationDriver.getAnimatingCount());
+            for (int i = 0; i < TOGGLE_COUNT; i++) {
+                animationDriver.stop(checkableViews[i]);
+            }
+        }
+        assertEquals(animatorsCreated + 1, RenderStats.getGlobal().getAnimatorsCreated());
+    }
+
+    @UiThreadTest
+    public void testAnimatedToggleRebuildsNoDrawables() {
+        CheckableView checkableView = CheckableTestFixtures.createInflatedCheckableView(mContext);
+        long drawableRebuilds = checkableView.getRenderStats().getDrawableRebuilds();
+        for (int i = 0; i < TOGGLE_COUNT; i++) {
+            toggleAnimated(checkableView);
+        }
+        assertEquals(drawableRebuilds, checkableView.getRenderStats().getDrawableRebuilds());
+    }
+
+    @UiThreadTest
+    public void testPaletteRebuildsNoDrawables() {
+        CheckableView checkableView = CheckableTestFixtures.createInflatedCheckableView(mContext);
+        long drawableRebuilds = checkableView.getRenderStats().getDrawableRebuilds();
+
+        CheckablePalette palette = new CheckablePalette(mContext);
+        palette.setCheckedBackgroundColor(0xFF000000);
+        checkableView.setPalette(palette);
+        checkableView.setBorderColor(0xFF111111);
+        checkableView.setBorderWidth(2);
+        checkableView.setCheckmarkColor(0xFF222222);
+        assertEquals(drawableRebuilds, checkableView.getRenderStats().getDrawableRebuilds());
+        assertEquals(0xFF000000, checkableView.getCheckedBackgroundColor());
+    }
+
+    @UiThreadTest
+    public void testGlobalStatsAggregateInstances() {
+        CheckableView first = new CheckableView(mContext);
+        CheckableView second = new CheckableView(mContext);
+        assertEquals(first.getRenderStats().getInflations() + second.getRenderStats().getInflations(),
+                RenderStats.getGlobal().getInflations());
+    }
+
+    @UiThreadTest
+    public void testRebindingSameModelDoesNoWork() {
+        CheckableView checkableView = CheckableTestFixtures.createInflatedCheckableView(mContext);
+        CheckableTestFixtures.RecordingListener listener = new CheckableTestFixtures.RecordingListener();
+        checkableView.setOnCheckedChangeListener(listener);
+
+        RenderStats renderStats = checkableView.getRenderStats();
+        long layoutRequests = renderStats.getLayoutRequests();
+        checkableView.bind(android.R.drawable.star_on, android.R.drawable.star_off, "label", true);
+        assertEquals(layoutRequests + 1, renderStats.getLayoutRequests());
+        assertTrue(checkableView.isChecked());
+
+        checkableView.bind(android.R.drawable.star_on, android.R.drawable.star_off, "label", true);
+        assertEquals(layoutRequests + 1, renderStats.getLayoutRequests());
+        assertEquals(0, renderStats.getAnimatorsCreated());
+        assertEquals(0, listener.mChanges.size());
+    }
+
+    @UiThreadTest
+    public void testIdenticalViewsShareOneSnapshot() {
+        SnapshotCache.clear();
+        Canvas canvas = new Canvas(Bitmap.createBitmap(CheckableTestFixtures.SIZE, CheckableTestFixtures.SIZE, Bitmap.Config.ARGB_8888));
+        for (int i = 0; i < TOGGLE_COUNT; i++) {
+            CheckableView checkableView = CheckableTestFixtures.createInflatedCheckableView(mContext);
+            checkableView.setSnapshotCacheEnabled(true);
+            checkableView.draw(canvas);
+            checkableView.draw(canvas);
+        }
+        assertEquals(1, SnapshotCache.size());
+    }
+
+    @UiThreadTest
+    public void testMemoryPressureTrimsSnapshots() {
+        CheckableView checkableView = CheckableTestFixtures.createInflatedCheckableView(mContext);
+        checkableView.setSnapshotCacheEnabled(true);
+        Canvas canvas = new Canvas(Bitmap.createBitmap(CheckableTestFixtures.SIZE, CheckableTestFixtures.SIZE, Bitmap.Config.ARGB_8888));
+        checkableView.draw(canvas);
+        checkableView.draw(canvas);
+        assertTrue(SnapshotCache.size() > 0);
+
+        ((Application) mContext.getApplicationContext()).onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+        assertEquals(0, SnapshotCache.size());
+    }
+
+    private void toggleAnimated(CheckableView checkableView) {
+        checkableView.toggle();
+        assertTrue(mAnimationClock.getAnimatingCount() > 0);
+        mAnimationClock.advance(ManualAnimationClock.DEFAULT_FRAME_INTERVAL);
+    }
+
+    private static int countDescendants(ViewGroup root) {
+        int count = 0;
+        for (int i = 0; i < root.getChildCount(); i++) {
+            View child = root.getChildAt(i);
+            count++;
+            if (child instanceof ViewGroup) {
+                count += countDescendants((ViewGroup) child);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.gfranks.checkable.view;
+
+import android.content.Context;
+import android.test.InstrumentationTestCase;
+import android.test.UiThreadTest;
+
+/**
+ * Selection across CheckableViews which share no parent
+ */
+public class SelectionDomainTest extends InstrumentationTestCase {
+
+    private static final int CHECKABLE_VIEW_COUNT = 10;
+
+    private Context mContext;
+    private CheckableView[] mCheckableViews;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mContext = getInstrumentation().getTargetContext();
+        mCheckableViews = new CheckableView[CHECKABLE_VIEW_COUNT];
+        for (int i = 0; i < CHECKABLE_VIEW_COUNT; i++) {
+            mCheckableViews[i] = new CheckableView(mContext);
+        }
+    }
+
+    @UiThreadTest
+    public void testSingleSelectionAcrossContainers() {
+        SelectionDomain selectionDomain = joinAll(CheckableGroup.ChoiceMode.SINGLE);
+
+        mCheckableViews[2].setChecked(true);
+        mCheckableViews[7].setChecked(true);
+        assertFalse(mCheckableViews[2].isChecked());
+        assertSame(mCheckableViews[7], selectionDomain.getCheckedCheckableView());
+        assertEquals(1, selectionDomain.getCheckedCount());
+
+        mCheckableViews[7].setChecked(false);
+        assertNull(selectionDomain.getCheckedCheckableView());
+        assertEquals(0, selectionDomain.getCheckedCount());
+    }
+
+    @UiThreadTest
+    public void testMultipleSelection() {
+        SelectionDomain selectionDomain = joinAll(CheckableGroup.ChoiceMode.MULTIPLE);
+        for (int i = 0; i < CHECKABLE_VIEW_COUNT; i += 2) {
+            mCheckableViews[i].setChecked(true);
+        }
+        assertEquals(CHECKABLE_VIEW_COUNT / 2, selectionDomain.getCheckedCount());
+
+        selectionDomain.setChoiceMode(CheckableGroup.ChoiceMode.SINGLE);
+        assertEquals(1, selectionDomain.getCheckedCount());
+        assertSame(mCheckableViews[CHECKABLE_VIEW_COUNT - 2], selectionDomain.getCheckedCheckableView());
+        assertTrue(mCheckableViews[CHECKABLE_VIEW_COUNT - 2].isChecked());
+    }
+
+    @UiThreadTest
+    public void testLeavingDomain() {
+        SelectionDomain selectionDomain = joinAll(CheckableGroup.ChoiceMode.SINGLE);
+        mCheckableViews[0].setChecked(true);
+        mCheckableViews[0].setSelectionDomain(null);
+        assertEquals(CHECKABLE_VIEW_COUNT - 1, selectionDomain.size());
+        assertNull(selectionDomain.getCheckedCheckableView());
+
+        mCheckableViews[1].setChecked(true);
+        assertTrue(mCheckableViews[0].isChecked());
+    }
+
+    @UiThreadTest
+    public void testBindKeepsSingleSelectionWithoutNotifying() {
+        SelectionDomain selectionDomain = joinAll(CheckableGroup.ChoiceMode.SINGLE);
+        CheckableTestFixtures.RecordingListener listener = new CheckableTestFixtures.RecordingListener();
+        selectionDomain.setOnCheckedChangeListener(listener);
+
+        bind(mCheckableViews[0], true);
+        bind(mCheckableViews[0], false);
+        assertEquals(0, selectionDomain.getCheckedCount());
+        assertNull(selectionDomain.getCheckedCheckableView());
+
+        bind(mCheckableViews[1], true);
+        bind(mCheckableViews[0], true);
+        assertFalse(mCheckableViews[1].isChecked());
+        assertSame(mCheckableViews[0], selectionDomain.getCheckedCheckableView());
+        assertEquals(1, selectionDomain.getCheckedCount());
+        assertEquals(0, listener.mChanges.size());
+
+        // user changes are still exclusive with bound ones
+        mCheckableViews[1].setChecked(true);
+        assertFalse(mCheckableViews[0].isChecked());
+        assertEquals(1, selectionDomain.getCheckedCount());
+    }
+
+    private void bind(CheckableView checkableView, boolean isChecked) {
+        checkableView.bind(android.R.drawable.star_on, android.R.drawable.star_off, null, isChecked);
+    }
+
+    private SelectionDomain joinAll(CheckableGroup.ChoiceMode choiceMode) {
+        SelectionDomain selectionDomain = new SelectionDomain(choiceMode);
+        for (int i = 0; i < CHECKABLE_VIEW_COUNT; i++) {
+            mCheckableViews[i].setSelectionDomain(selectionDomain);
+        }
+        return selectionDomain;
+    }
+}
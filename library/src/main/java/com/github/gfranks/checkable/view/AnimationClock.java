@@ -0,0 +1,29 @@
+package com.github.gfranks.checkable.view;
+
+import android.view.animation.AnimationUtils;
+
+/**
+ * Time source of CheckableView animations. Every animation is computed from the frame time returned by its clock, so
+ * replacing the clock with a {@link ManualAnimationClock} makes animations step deterministically, frame by frame.
+ *
+ * @see CheckableView#setDefaultAnimationClock(AnimationClock)
+ * @see CheckableGroup#setAnimationClock(AnimationClock)
+ */
+public interface AnimationClock {
+
+    /**
+     * Clock following the system animation time, used unless another clock has been set
+     */
+    AnimationClock SYSTEM = new AnimationClock() {
+        @Override
+        public long getFrameTime() {
+            return AnimationUtils.currentAnimationTimeMillis();
+        }
+    };
+
+    /**
+     *
+     * @return Current frame time in milliseconds
+     */
+    long getFrameTime();
+}
@@ -0,0 +1,178 @@
+package com.github.gfranks.checkable.view;
+
+import android.animation.ValueAnimator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drives the toggle animations of many CheckableViews from a single frame callback. Each frame every animating
+ * CheckableView is advanced to the current frame time from precomputed curves, so the per-frame cost grows with the
+ * number of animating CheckableViews and no animator is scheduled per CheckableView. A CheckableGroup owns one driver
+ * for its CheckableViews, all other CheckableViews share {@link #getDefault()}. Frames come from a repeating animator,
+ * or from the clock itself when it is a {@link ManualAnimationClock}. Must only be used on the main thread.
+ */
+class AnimationDriver implements ValueAnimator.AnimatorUpdateListener {
+
+    private static final int TICKER_DURATION = 1000;
+
+    private static AnimationDriver sDefault;
+
+    /**
+     * CheckableViews advanced every frame. A CheckableView is removed on the frame its animation finishes, or right
+     * away when its animation is cancelled through {@link #stop(CheckableView)}
+     */
+    private final List<CheckableView> mAnimatingViews;
+    /**
+     * Repeating animator used only for its frame callbacks, created on first use
+     */
+    private ValueAnimator mTicker;
+    private AnimationClock mAnimationClock;
+
+    AnimationDriver() {
+        mAnimatingViews = new ArrayList<CheckableView>();
+        mAnimationClock = AnimationClock.SYSTEM;
+    }
+
+    /**
+     *
+     * @return Driver shared by all CheckableViews which do not belong to a CheckableGroup
+     */
+    static AnimationDriver getDefault() {
+        if (sDefault == null) {
+            sDefault = new AnimationDriver();
+        }
+
+        return sDefault;
+    }
+
+    /**
+     *
+     * @return Current frame time used to start and advance animations
+     */
+    long getFrameTime() {
+        return mAnimationClock.getFrameTime();
+    }
+
+    AnimationClock getAnimationClock() {
+        return mAnimationClock;
+    }
+
+    /**
+     * Sets the time source of the animations. Running animations jump to their end state, as their start times were
+     * taken from the previous clock.
+     *
+     * @param animationClock Clock to be used, or null for {@link AnimationClock#SYSTEM}
+     */
+    void setAnimationClock(AnimationClock animationClock) {
+        for (int i = mAnimatingViews.size() - 1; i >= 0; i--) {
+            mAnimatingViews.get(i).jumpToEndState();
+        }
+        if (mTicker != null) {
+            mTicker.cancel();
+        }
+
+        if (isManual()) {
+            ((ManualAnimationClock) mAnimationClock).detach(this);
+        }
+        mAnimationClock = animationClock != null ? animationClock : AnimationClock.SYSTEM;
+        if (isManual()) {
+            ((ManualAnimationClock) mAnimationClock).attach(this);
+        }
+    }
+
+    /**
+     *
+     * @return Boolean determining if frames are produced by a ManualAnimationClock rather than the display
+     */
+    boolean isManual() {
+        return mAnimationClock instanceof ManualAnimationClock;
+    }
+
+    /**
+     * Starts advancing the CheckableView every frame until its animation completes or is cancelled
+     *
+     * @param checkableView CheckableView whose animation has been started
+     */
+    void start(CheckableView checkableView) {
+        if (!checkableView.mIsDriven) {
+            checkableView.mIsDriven = true;
+            mAnimatingViews.add(checkableView);
+        }
+
+        if (!isManual()) {
+            startTicker(checkableView);
+        }
+    }
+
+    private void startTicker(CheckableView checkableView) {
+        if (mTicker == null) {
+            mTicker = ValueAnimator.ofFloat(0f, 1f);
+            mTicker.setDuration(TICKER_DURATION);
+            mTicker.setRepeatCount(ValueAnimator.INFINITE);
+            mTicker.addUpdateListener(this);
+            checkableView.getRenderStats().recordAnimatorCreated();
+        }
+        if (!mTicker.isStarted()) {
+            mTicker.start();
+        }
+    }
+
+    /**
+     * Stops advancing the CheckableView right away rather than on the next frame
+     *
+     * @param checkableView CheckableView whose animation has been cancelled
+     */
+    void stop(CheckableView checkableView) {
+        if (!checkableView.mIsDriven) {
+            return;
+        }
+
+        checkableView.mIsDriven = false;
+        int index = mAnimatingViews.indexOf(checkableView);
+        int last = mAnimatingViews.size() - 1;
+        mAnimatingViews.set(index, mAnimatingViews.get(last));
+        mAnimatingViews.remove(last);
+        if (mAnimatingViews.isEmpty() && mTicker != null) {
+            mTicker.cancel();
+        }
+    }
+
+    /**
+     *
+     * @return Number of CheckableViews currently advanced every frame
+     */
+    int getAnimatingCount() {
+        return mAnimatingViews.size();
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        doFrame();
+    }
+
+    /**
+     * Advances every animating CheckableView to the current frame time
+     *
+     * @return Number of CheckableViews advanced
+     */
+    int doFrame() {
+        int advanced = mAnimatingViews.size();
+        long frameTime = getFrameTime();
+        for (int i = mAnimatingViews.size() - 1; i >= 0; i--) {
+            CheckableView checkableView = mAnimatingViews.get(i);
+            if (!checkableView.onAnimationFrame(frameTime)) {
+                checkableView.mIsDriven = false;
+                // order does not matter, swap the last view in rather than shifting the list
+                int last = mAnimatingViews.size() - 1;
+                mAnimatingViews.set(i, mAnimatingViews.get(last));
+                mAnimatingViews.remove(last);
+            }
+        }
+
+        if (mAnimatingViews.isEmpty() && mTicker != null) {
+            mTicker.cancel();
+        }
+        return advanced;
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.gfranks.checkable.view;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records every animated property of a CheckableView, once per animation frame and once whenever a state is applied
+ * without animation. Together with a {@link ManualAnimationClock} this allows asserting the per-frame values and the
+ * final state of a toggle sequence without a device.
+ *
+ * @see CheckableView#setAnimationTimeline(AnimationTimeline)
+ */
+public class AnimationTimeline {
+
+    private final List<Frame> mFrames;
+
+    public AnimationTimeline() {
+        mFrames = new ArrayList<Frame>();
+    }
+
+    /**
+     *
+     * @return All recorded frames, oldest first
+     */
+    public List<Frame> getFrames() {
+        return Collections.unmodifiableList(mFrames);
+    }
+
+    /**
+     *
+     * @return Most recently recorded frame, or null if none has been recorded
+     */
+    public Frame getLastFrame() {
+        return mFrames.isEmpty() ? null : mFrames.get(mFrames.size() - 1);
+    }
+
+    /**
+     * Drops all recorded frames
+     */
+    public void clear() {
+        mFrames.clear();
+    }
+
+    void record(Frame frame) {
+        mFrames.add(frame);
+    }
+
+    /**
+     * Values of the animated properties of a CheckableView at one frame
+     */
+    public static class Frame {
+
+        private final long mFrameTime;
+        private final boolean mIsChecked;
+        private final boolean mIsAnimating;
+        private final float mCheckedImageTranslationY;
+        private final float mNormalImageTranslationY;
+        private final float mOverlayScale;
+        private final float mBackgroundFraction;
+
+        Frame(long frameTime, boolean isChecked, boolean isAnimating, float checkedImageTranslationY,
+              float normalImageTranslationY, float overlayScale, float backgroundFraction) {
+            mFrameTime = frameTime;
+            mIsChecked = isChecked;
+            mIsAnimating = isAnimating;
+            mCheckedImageTranslationY = checkedImageTranslationY;
+            mNormalImageTranslationY = normalImageTranslationY;
+            mOverlayScale = overlayScale;
+            mBackgroundFraction = backgroundFraction;
+        }
+
+        public long getFrameTime() {
+            return mFrameTime;
+        }
+
+        public boolean isChecked() {
+            return mIsChecked;
+        }
+
+        /**
+         *
+         * @return Boolean determining if the animation was still running after this frame
+         */
+        public boolean isAnimating() {
+            return mIsAnimating;
+        }
+
+        public float getCheckedImageTranslationY() {
+            return mCheckedImageTranslationY;
+        }
+
+        public float getNormalImageTranslationY() {
+            return mNormalImageTranslationY;
+        }
+
+        /**
+         *
+         * @return Scale of the checked overlay, 0 when hidden
+         */
+        public float getOverlayScale() {
+            return mOverlayScale;
+        }
+
+        /**
+         *
+         * @return Fraction of the checked background shown over the normal background, from 0 to 1
+         */
+        public float getBackgroundFraction() {
+            return mBackgroundFraction;
+        }
+
+        @Override
+        public String toString() {
+            return "Frame{frameTime=" + mFrameTime +
+                    ", isChecked=" + mIsChecked +
+                    ", isAnimating=" + mIsAnimating +
+                    ", checkedImageTranslationY=" + mCheckedImageTranslationY +
+                    ", normalImageTranslationY=" + mNormalImageTranslationY +
+                    ", overlayScale=" + mOverlayScale +
+                    ", backgroundFraction=" + mBackgroundFraction + "}";
+        }
+    }
+}
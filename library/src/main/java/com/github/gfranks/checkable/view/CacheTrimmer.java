@@ -0,0 +1,50 @@
+package com.github.gfranks.checkable.view;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+
+/**
+ * Trims the library-wide caches (snapshots and checkmark paths) when the system runs low on memory. Registered once
+ * with the application context by the first CheckableView.
+ */
+class CacheTrimmer implements ComponentCallbacks2 {
+
+    private static CacheTrimmer sCacheTrimmer;
+
+    private CacheTrimmer() {
+    }
+
+    /**
+     * Registers the trimmer with the application context, if not already registered
+     *
+     * @param context Context of a CheckableView
+     */
+    static void register(Context context) {
+        if (sCacheTrimmer == null) {
+            sCacheTrimmer = new CacheTrimmer();
+            Context applicationContext = context.getApplicationContext();
+            (applicationContext != null ? applicationContext : context).registerComponentCallbacks(sCacheTrimmer);
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            SnapshotCache.clear();
+            CheckmarkDrawable.clearCache();
+        } else if (level >= TRIM_MEMORY_RUNNING_MODERATE) {
+            SnapshotCache.trimToSize(SnapshotCache.size() / 2);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        SnapshotCache.clear();
+        CheckmarkDrawable.clearCache();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.gfranks.checkable.view;
+
+import android.annotation.TargetApi;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Outline;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+
+/**
+ * Background of the image container: one rounded shape with a border, filled with the normal background color blended
+ * towards the checked background color by a fraction. The fraction is set by the toggle animation on every frame, so
+ * a transition only fills the shape once per frame and has no animation loop of its own.
+ */
+class CheckableBackgroundDrawable extends Drawable {
+
+    private final Paint mFillPaint;
+    private final Paint mStrokePaint;
+    private final RectF mRect;
+    private int mNormalColor;
+    private int mCheckedColor;
+    private int mBorderColor;
+    private int mBorderWidth;
+    private float mCornerRadius;
+    private int mAlpha;
+    /**
+     * Fraction of the checked color blended into the normal color
+     */
+    private float mFraction;
+
+    CheckableBackgroundDrawable() {
+        mFillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mFillPaint.setStyle(Paint.Style.FILL);
+        mStrokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mStrokePaint.setStyle(Paint.Style.STROKE);
+        mRect = new RectF();
+        mAlpha = 255;
+    }
+
+    void setColors(int normalColor, int checkedColor) {
+        mNormalColor = normalColor;
+        mCheckedColor = checkedColor;
+        invalidateSelf();
+    }
+
+    void setBorder(int borderWidth, int borderColor, float cornerRadius) {
+        mBorderWidth = borderWidth;
+        mBorderColor = borderColor;
+        mCornerRadius = cornerRadius;
+        invalidateSelf();
+    }
+
+    /**
+     *
+     * @param fraction Fraction of the checked color to be blended into the normal color, clamped to [0, 1]
+     */
+    void setFraction(float fraction) {
+        fraction = Math.max(0, Math.min(1, fraction));
+        if (mFraction != fraction) {
+            mFraction = fraction;
+            invalidateSelf();
+        }
+    }
+
+    float getFraction() {
+        return mFraction;
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        // like GradientDrawable, the border is centered on the edge of the filled shape, inset to stay in bounds
+        float inset = mBorderWidth / 2f;
+        mRect.set(getBounds());
+        mRect.inset(inset, inset);
+
+        setPaintColor(mFillPaint, CheckableView.blendColors(mNormalColor, mCheckedColor, mFraction));
+        canvas.drawRoundRect(mRect, mCornerRadius, mCornerRadius, mFillPaint);
+        if (mBorderWidth > 0) {
+            setPaintColor(mStrokePaint, mBorderColor);
+            mStrokePaint.setStrokeWidth(mBorderWidth);
+            canvas.drawRoundRect(mRect, mCornerRadius, mCornerRadius, mStrokePaint);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public void getOutline(Outline outline) {
+        Rect bounds = getBounds();
+        outline.setRoundRect(bounds.left, bounds.top, bounds.right, bounds.bottom, mCornerRadius);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        mAlpha = alpha;
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter cf) {
+        mFillPaint.setColorFilter(cf);
+        mStrokePaint.setColorFilter(cf);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    private void setPaintColor(Paint paint, int color) {
+        paint.setColor(color);
+        paint.setAlpha(Color.alpha(color) * mAlpha / 255);
+    }
+}
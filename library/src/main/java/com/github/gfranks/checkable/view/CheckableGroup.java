@@ -1,24 +1,65 @@
 package com.github.gfranks.checkable.view;
 
 import android.content.Context;
-import android.graphics.Canvas;
+import android.content.res.TypedArray;
+import android.os.Handler;
+import android.os.Looper;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
+import android.support.v4.view.ViewCompat;
 import android.util.AttributeSet;
+import android.view.GestureDetector;
+import android.view.HapticFeedbackConstants;
+import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewConfiguration;
 import android.view.ViewGroup;
 import android.widget.LinearLayout;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class CheckableGroup extends LinearLayout implements CheckableView.OnCheckedChangeListener {
 
+    public enum ChoiceMode {
+        SINGLE,
+        MULTIPLE
+    }
+
     /**
-     * Int tracking the last checked CheckableView
+     * Int tracking the last checked CheckableView, only updated when saving state
      */
     private int mLastCheckedPosition;
+    /**
+     * Whether one or many CheckableViews may be checked at once
+     */
+    private ChoiceMode mChoiceMode;
+    /**
+     * The currently checked CheckableView, or the last checked one when multiple may be checked
+     */
+    private CheckableView mCheckedView;
+    /**
+     * Whether the hierarchy must be searched for CheckableViews on the next layout pass. Set when a child is added
+     * to or removed from this group, or when a CheckableView below it is attached to or detached from a window
+     */
+    private boolean mIsCheckableViewsDirty;
+    /**
+     * Listener set by the user, which hierarchy changes of this group are passed through to
+     */
+    private OnHierarchyChangeListener mOnHierarchyChangeListener;
+    /**
+     * Render cost counters for this CheckableGroup, only updated while RenderStats are enabled
+     */
+    private final RenderStats mRenderStats = new RenderStats();
+    /**
+     * Driver advancing the animations of all the added CheckableViews from one frame callback
+     */
+    private final AnimationDriver mAnimationDriver = new AnimationDriver();
     /**
      * Listener to receive onCheckedChange callbacks when a child CheckableView's checked state changes
      */
@@ -27,10 +68,62 @@ public class CheckableGroup extends LinearLayout implements CheckableView.OnChec
      * List of all the added CheckableViews
      */
     private List<CheckableView> mCheckableViews;
+    /**
+     * Index of the added CheckableViews by their key
+     */
+    private Map<Object, CheckableView> mKeyIndex;
+    /**
+     * Whether dragging across CheckableViews checks or unchecks them, only while the choice mode is MULTIPLE
+     */
+    private boolean mIsDragToSelectEnabled;
+    /**
+     * Policy applied to the CheckableViews whose own policy is AUTO
+     */
+    private CheckableView.AnimationPolicy mAnimationPolicy;
+    /**
+     * Grid of the bounds of the added CheckableViews, rebuilt on the first drag after a layout pass
+     */
+    private SpatialIndex mSpatialIndex;
+    private boolean mIsSpatialIndexDirty;
+    private int mTouchSlop;
+    /**
+     * Starts a drag on long press, before a scrolling parent can take over a gesture moving in its direction
+     */
+    private GestureDetector mLongPressDetector;
+    private boolean mIsDragging;
+    private float mDragStartX;
+    private float mDragStartY;
+    private float mLastDragX;
+    private float mLastDragY;
+    /**
+     * State applied to every CheckableView dragged across, the opposite of the first one's state
+     */
+    private boolean mDragCheckedState;
+    /**
+     * CheckableViews dragged across during the current gesture
+     */
+    private Set<CheckableView> mDraggedViews;
+    /**
+     * CheckableViews dragged across since the last batch was applied
+     */
+    private List<CheckableView> mPendingDraggedViews;
+    private boolean mIsDragBatchScheduled;
+    private final Runnable mApplyDragBatchRunnable = new Runnable() {
+        @Override
+        public void run() {
+            applyDragBatch();
+        }
+    };
 
     public CheckableGroup(Context context) {
         super(context);
+        mChoiceMode = ChoiceMode.SINGLE;
+        mAnimationPolicy = CheckableView.AnimationPolicy.AUTO;
         mCheckableViews = new ArrayList<CheckableView>();
+        mKeyIndex = new HashMap<Object, CheckableView>();
+        mIsCheckableViewsDirty = true;
+        super.setOnHierarchyChangeListener(new PassThroughHierarchyChangeListener());
+        initDragToSelect();
     }
 
     public CheckableGroup(Context context, AttributeSet attrs) {
@@ -39,7 +132,19 @@ public class CheckableGroup extends LinearLayout implements CheckableView.OnChec
 
     public CheckableGroup(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
+
+        TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.CheckableGroup, defStyleAttr, 0);
+        mChoiceMode = ChoiceMode.values()[a.getInt(R.styleable.CheckableGroup_cg_choiceMode, ChoiceMode.SINGLE.ordinal())];
+        mIsDragToSelectEnabled = a.getBoolean(R.styleable.CheckableGroup_cg_dragToSelect, false);
+        mAnimationPolicy = CheckableView.AnimationPolicy.values()[a.getInt(R.styleable.CheckableGroup_cg_animationPolicy,
+                CheckableView.AnimationPolicy.AUTO.ordinal())];
+        a.recycle();
+
         mCheckableViews = new ArrayList<CheckableView>();
+        mKeyIndex = new HashMap<Object, CheckableView>();
+        mIsCheckableViewsDirty = true;
+        super.setOnHierarchyChangeListener(new PassThroughHierarchyChangeListener());
+        initDragToSelect();
     }
 
     /**
@@ -52,14 +157,97 @@ public class CheckableGroup extends LinearLayout implements CheckableView.OnChec
 
     /**
      *
-     * @return Retrieve the position of the current checked CheckableView
+     * @return ChoiceMode enum determining if one or many CheckableViews may be checked at once
+     * @see #setChoiceMode(com.github.gfranks.checkable.view.CheckableGroup.ChoiceMode)
      */
-    public int getCheckedCheckableViewPosition() {
+    public ChoiceMode getChoiceMode() {
+        return mChoiceMode;
+    }
+
+    /**
+     *
+     * @param choiceMode ChoiceMode enum to determine if one or many CheckableViews may be checked at once.
+     *                   Switching to SINGLE unchecks all but the last checked CheckableView
+     * @see com.github.gfranks.checkable.view.CheckableGroup.ChoiceMode
+     */
+    public void setChoiceMode(ChoiceMode choiceMode) {
+        mChoiceMode = choiceMode;
+        if (mChoiceMode == ChoiceMode.SINGLE) {
+            for (int i=0; i<mCheckableViews.size(); i++) {
+                CheckableView checkableView = mCheckableViews.get(i);
+                if (checkableView != mCheckedView && checkableView.isChecked()) {
+                    checkableView.setChecked(false);
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @return Boolean determining if dragging across CheckableViews checks or unchecks them
+     * @see #setDragToSelectEnabled(boolean)
+     */
+    public boolean isDragToSelectEnabled() {
+        return mIsDragToSelectEnabled;
+    }
+
+    /**
+     * While enabled and the choice mode is MULTIPLE, dragging across CheckableViews gives them all the opposite state
+     * of the first one dragged across. CheckableViews under the pointer are found through a grid of their bounds
+     * built once per layout pass, and their states are changed in one batch per frame. Inside a scrolling parent,
+     * a drag in the scrolling direction starts with a long press
+     *
+     * @param dragToSelectEnabled Boolean to enable or disable drag to select
+     */
+    public void setDragToSelectEnabled(boolean dragToSelectEnabled) {
+        mIsDragToSelectEnabled = dragToSelectEnabled;
+        if (!dragToSelectEnabled && mIsDragging) {
+            finishDrag();
+        }
+    }
+
+    /**
+     * Sets the state of all the CheckableViews in this group at once. Their animations are advanced together by
+     * this group's single frame callback
+     *
+     * @param isChecked Boolean to set the state of all the CheckableViews
+     * @throws IllegalStateException if checking all while the choice mode is SINGLE
+     */
+    public void setAllChecked(boolean isChecked) {
+        if (isChecked && mChoiceMode == ChoiceMode.SINGLE) {
+            throw new IllegalStateException("Cannot check all CheckableViews while the choice mode is SINGLE");
+        }
+
+        ensureCheckableViews();
         for (int i=0; i<mCheckableViews.size(); i++) {
-            if (mCheckableViews.get(i).isChecked()) {
-                return i;
+            CheckableView checkableView = mCheckableViews.get(i);
+            if (checkableView.isChecked() != isChecked) {
+                checkableView.setChecked(isChecked);
             }
         }
+    }
+
+    /**
+     * Sets all colors of every CheckableView in this group in one pass, updating their drawables in place
+     *
+     * @param palette CheckablePalette containing the colors to be set
+     * @see CheckableView#setPalette(CheckablePalette)
+     */
+    public void setPalette(CheckablePalette palette) {
+        ensureCheckableViews();
+        for (int i=0; i<mCheckableViews.size(); i++) {
+            mCheckableViews.get(i).setPalette(palette);
+        }
+    }
+
+    /**
+     *
+     * @return Retrieve the position of the current checked CheckableView
+     */
+    public int getCheckedCheckableViewPosition() {
+        if (mCheckedView != null) {
+            return mCheckableViews.indexOf(mCheckedView);
+        }
 
         return NO_ID;
     }
@@ -69,19 +257,108 @@ public class CheckableGroup extends LinearLayout implements CheckableView.OnChec
      * @return Retrieve the current checked CheckableView
      */
     public CheckableView getCheckedCheckableView() {
+        return mCheckedView;
+    }
+
+    /**
+     *
+     * @return Retrieve all the checked CheckableViews
+     */
+    public List<CheckableView> getCheckedCheckableViews() {
+        List<CheckableView> checkedViews = new ArrayList<CheckableView>();
         for (int i=0; i<mCheckableViews.size(); i++) {
             if (mCheckableViews.get(i).isChecked()) {
-                return mCheckableViews.get(i);
+                checkedViews.add(mCheckableViews.get(i));
             }
         }
 
+        return checkedViews;
+    }
+
+    /**
+     *
+     * @return Key of the current checked CheckableView, or null if none is checked or it has no key
+     * @see CheckableView#getKey()
+     */
+    public Object getCheckedCheckableViewKey() {
+        if (mCheckedView != null) {
+            return mCheckedView.getKey();
+        }
+
         return null;
     }
 
+    /**
+     *
+     * @param key Key of the CheckableView to be retrieved
+     * @return The CheckableView with the given key, or null if this group has none
+     * @see CheckableView#setKey(Object)
+     */
+    public CheckableView findCheckableViewByKey(Object key) {
+        ensureCheckableViews();
+
+        return mKeyIndex.get(key);
+    }
+
+    /**
+     *
+     * @param key Key of the CheckableView whose state is to be set
+     * @param isChecked Boolean to set the state of the CheckableView
+     * @return Boolean determining if a CheckableView with the given key was found
+     */
+    public boolean setCheckedByKey(Object key, boolean isChecked) {
+        CheckableView checkableView = findCheckableViewByKey(key);
+        if (checkableView == null) {
+            return false;
+        }
+
+        if (checkableView.isChecked() != isChecked) {
+            checkableView.setChecked(isChecked);
+        }
+        return true;
+    }
+
+    /**
+     *
+     * @param key Key of the CheckableView whose state is to be retrieved
+     * @return Boolean determining if the CheckableView with the given key is checked. False if none is found
+     */
+    public boolean isCheckedByKey(Object key) {
+        CheckableView checkableView = findCheckableViewByKey(key);
+        return checkableView != null && checkableView.isChecked();
+    }
+
+    /**
+     * Unchecks the current checked CheckableView, or all CheckableViews when multiple may be checked
+     */
+    public void clearChecked() {
+        if (mChoiceMode == ChoiceMode.MULTIPLE) {
+            setAllChecked(false);
+        } else if (mCheckedView != null) {
+            mCheckedView.setChecked(false);
+        }
+    }
+
+    /**
+     *
+     * @return Render cost counters of this group summed with those of its CheckableViews
+     * @see RenderStats#setEnabled(boolean)
+     */
+    public RenderStats getRenderStats() {
+        RenderStats renderStats = new RenderStats();
+        renderStats.add(mRenderStats);
+        for (int i=0; i<mCheckableViews.size(); i++) {
+            renderStats.add(mCheckableViews.get(i).getRenderStats());
+        }
+
+        return renderStats;
+    }
+
     @Override
     public Parcelable onSaveInstanceState() {
         Parcelable superState = super.onSaveInstanceState();
         SavedState ss = new SavedState(superState);
+        mLastCheckedPosition = getCheckedCheckableViewPosition();
         ss.mLastCheckedPosition = mLastCheckedPosition;
         return ss;
     }
@@ -100,64 +377,317 @@ public class CheckableGroup extends LinearLayout implements CheckableView.OnChec
         }
 
         if (isChecked) {
-            mLastCheckedPosition = mCheckableViews.indexOf(checkableView);
-            updateCheckedPosition();
+            setCheckedView(checkableView);
+        } else if (checkableView == mCheckedView) {
+            mCheckedView = null;
         }
     }
 
     @Override
-    protected boolean drawChild(@NonNull Canvas canvas, @NonNull View child, long drawingTime) {
-        CheckableView checkableView;
-        if (child instanceof CheckableView) {
-            checkableView = (CheckableView) child;
+    public void setOnHierarchyChangeListener(OnHierarchyChangeListener listener) {
+        mOnHierarchyChangeListener = listener;
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        ensureCheckableViews();
+        mIsSpatialIndexDirty = true;
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(MotionEvent ev) {
+        if (!isDragToSelectActive()) {
+            return super.onInterceptTouchEvent(ev);
+        }
 
-            if (!mCheckableViews.contains(checkableView)) {
-                mCheckableViews.add(checkableView);
+        // a drag finished by this event still takes it, so the CheckableView under a long press is sent a cancel
+        // rather than an up which would toggle it back
+        boolean wasDragging = mIsDragging;
+        onDragTouchEvent(ev);
+        return wasDragging || mIsDragging;
+    }
+
+    @Override
+    public boolean onTouchEvent(@NonNull MotionEvent event) {
+        if (!isDragToSelectActive()) {
+            return super.onTouchEvent(event);
+        }
+
+        // also track gestures starting between CheckableViews
+        onDragTouchEvent(event);
+        return true;
+    }
+
+    private void initDragToSelect() {
+        mTouchSlop = ViewConfiguration.get(getContext()).getScaledTouchSlop();
+        mLongPressDetector = new GestureDetector(getContext(), new GestureDetector.SimpleOnGestureListener() {
+            @Override
+            public void onLongPress(MotionEvent e) {
+                if (!mIsDragging && isDragToSelectActive()) {
+                    performHapticFeedback(HapticFeedbackConstants.LONG_PRESS);
+                    startDrag();
+                    dragTo(mDragStartX, mDragStartY);
+                }
             }
-            checkableView.setOnCheckedChangeListener(this);
+        }, new Handler(Looper.getMainLooper()));
+        mDraggedViews = new HashSet<CheckableView>();
+        mPendingDraggedViews = new ArrayList<CheckableView>();
+        mIsSpatialIndexDirty = true;
+    }
 
-            if (checkableView.isChecked()) {
-                mLastCheckedPosition = mCheckableViews.indexOf(checkableView);
-                updateCheckedPosition();
+    private boolean isDragToSelectActive() {
+        return mIsDragToSelectEnabled && mChoiceMode == ChoiceMode.MULTIPLE;
+    }
+
+    private void onDragTouchEvent(MotionEvent event) {
+        // a move past the slop starts a drag right away, unless a scrolling parent intercepts it first
+        mLongPressDetector.onTouchEvent(event);
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                mDragStartX = event.getX();
+                mDragStartY = event.getY();
+                break;
+            case MotionEvent.ACTION_MOVE:
+                if (mIsDragging) {
+                    dragTo(event.getX(), event.getY());
+                } else if (Math.abs(event.getX() - mDragStartX) > mTouchSlop
+                        || Math.abs(event.getY() - mDragStartY) > mTouchSlop) {
+                    startDrag();
+                    dragTo(event.getX(), event.getY());
+                }
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                if (mIsDragging) {
+                    finishDrag();
+                }
+                break;
+        }
+    }
+
+    private void startDrag() {
+        ensureCheckableViews();
+        if (mSpatialIndex == null) {
+            mSpatialIndex = new SpatialIndex();
+        }
+        if (mIsSpatialIndexDirty) {
+            mIsSpatialIndexDirty = false;
+            mSpatialIndex.rebuild(this, mCheckableViews);
+        }
+
+        mIsDragging = true;
+        CheckableView firstView = mSpatialIndex.find((int) mDragStartX, (int) mDragStartY);
+        mDragCheckedState = firstView == null || !firstView.isChecked();
+        mLastDragX = mDragStartX;
+        mLastDragY = mDragStartY;
+        addDraggedView(firstView);
+        if (getParent() != null) {
+            // keep scrolling parents from taking over the gesture
+            getParent().requestDisallowInterceptTouchEvent(true);
+        }
+    }
+
+    private void dragTo(float x, float y) {
+        // sample the path so fast drags do not skip CheckableViews between two events, even the smallest one
+        float step = Math.max(1, mSpatialIndex.getMinEntrySize() / 2f);
+        float dx = x - mLastDragX;
+        float dy = y - mLastDragY;
+        int samples = (int) Math.ceil(Math.max(Math.abs(dx), Math.abs(dy)) / step);
+        for (int i = 1; i <= samples; i++) {
+            addDraggedView(mSpatialIndex.find((int) (mLastDragX + dx * i / samples), (int) (mLastDragY + dy * i / samples)));
+        }
+        mLastDragX = x;
+        mLastDragY = y;
+
+        if (!mPendingDraggedViews.isEmpty() && !mIsDragBatchScheduled) {
+            mIsDragBatchScheduled = true;
+            ViewCompat.postOnAnimation(this, mApplyDragBatchRunnable);
+        }
+    }
+
+    private void addDraggedView(CheckableView checkableView) {
+        if (checkableView != null && mDraggedViews.add(checkableView)) {
+            mPendingDraggedViews.add(checkableView);
+        }
+    }
+
+    private void applyDragBatch() {
+        mIsDragBatchScheduled = false;
+        for (int i=0; i<mPendingDraggedViews.size(); i++) {
+            CheckableView checkableView = mPendingDraggedViews.get(i);
+            if (checkableView.isChecked() != mDragCheckedState) {
+                checkableView.setChecked(mDragCheckedState);
             }
-        } else {
-            if (child instanceof ViewGroup) {
-                addAllCheckableViewsFromGroup((ViewGroup) child);
+        }
+        mPendingDraggedViews.clear();
+    }
+
+    private void finishDrag() {
+        removeCallbacks(mApplyDragBatchRunnable);
+        applyDragBatch();
+        mDraggedViews.clear();
+        mIsDragging = false;
+    }
+
+    private void ensureCheckableViews() {
+        if (mIsCheckableViewsDirty) {
+            mIsCheckableViewsDirty = false;
+            updateCheckableViews();
+        }
+    }
+
+    private void updateCheckableViews() {
+        mRenderStats.recordHierarchyScan();
+        List<CheckableView> checkableViews = new ArrayList<CheckableView>();
+        addAllCheckableViewsFromGroup(this, checkableViews);
+
+        Set<CheckableView> foundCheckableViews = new HashSet<CheckableView>(checkableViews);
+        for (int i=0; i<mCheckableViews.size(); i++) {
+            CheckableView checkableView = mCheckableViews.get(i);
+            if (!foundCheckableViews.contains(checkableView)) {
+                if (checkableView.getOnCheckedChangeListener() == this) {
+                    checkableView.setOnCheckedChangeListener(null);
+                }
+                if (checkableView.mCheckableGroup == this) {
+                    checkableView.mCheckableGroup = null;
+                }
             }
         }
+        if (mCheckedView != null && !foundCheckableViews.contains(mCheckedView)) {
+            mCheckedView = null;
+        }
 
-        return super.drawChild(canvas, child, drawingTime);
+        mCheckableViews = checkableViews;
+        mKeyIndex.clear();
+        for (int i=0; i<mCheckableViews.size(); i++) {
+            CheckableView checkableView = mCheckableViews.get(i);
+            checkableView.setOnCheckedChangeListener(this);
+            checkableView.mCheckableGroup = this;
+            Object key = checkableView.getKey();
+            if (key != null) {
+                mKeyIndex.put(key, checkableView);
+            }
+            if (checkableView.isChecked() && checkableView != mCheckedView) {
+                setCheckedView(checkableView);
+            }
+        }
     }
 
-    private void addAllCheckableViewsFromGroup(ViewGroup root) {
+    private void addAllCheckableViewsFromGroup(ViewGroup root, List<CheckableView> checkableViews) {
         final int childCount = root.getChildCount();
-        CheckableView checkableView;
         for (int i = 0; i < childCount; i++) {
             final View child = root.getChildAt(i);
-            if (child instanceof ViewGroup) {
-                addAllCheckableViewsFromGroup((ViewGroup) child);
+            if (child instanceof CheckableView) {
+                checkableViews.add((CheckableView) child);
+            } else if (child instanceof ViewGroup) {
+                addAllCheckableViewsFromGroup((ViewGroup) child, checkableViews);
             }
+        }
+    }
 
-            if (child instanceof CheckableView) {
-                checkableView = (CheckableView) child;
-                if (!mCheckableViews.contains(checkableView)) {
-                    mCheckableViews.add(checkableView);
-                }
-                checkableView.setOnCheckedChangeListener(this);
-                if (checkableView.isChecked()) {
-                    mLastCheckedPosition = mCheckableViews.indexOf(checkableView);
-                    updateCheckedPosition();
-                }
+    /**
+     *
+     * @return AnimationPolicy enum applied to the CheckableViews whose own policy is AUTO
+     * @see #setAnimationPolicy(com.github.gfranks.checkable.view.CheckableView.AnimationPolicy)
+     */
+    public CheckableView.AnimationPolicy getAnimationPolicy() {
+        return mAnimationPolicy;
+    }
+
+    /**
+     *
+     * @param animationPolicy AnimationPolicy enum to determine how state changes of the CheckableViews in this
+     *                        CheckableGroup are animated, unless they set their own. AUTO defers to system signals
+     * @see CheckableView#setAnimationPolicy(com.github.gfranks.checkable.view.CheckableView.AnimationPolicy)
+     */
+    public void setAnimationPolicy(CheckableView.AnimationPolicy animationPolicy) {
+        mAnimationPolicy = animationPolicy;
+    }
+
+    /**
+     *
+     * @return AnimationClock of the CheckableViews in this CheckableGroup
+     */
+    public AnimationClock getAnimationClock() {
+        return mAnimationDriver.getAnimationClock();
+    }
+
+    /**
+     * Sets the time source of the CheckableViews in this CheckableGroup. Use a {@link ManualAnimationClock} to step
+     * their animations frame by frame in tests and benchmarks.
+     *
+     * @param animationClock AnimationClock to be used, or null for {@link AnimationClock#SYSTEM}
+     */
+    public void setAnimationClock(AnimationClock animationClock) {
+        mAnimationDriver.setAnimationClock(animationClock);
+    }
+
+    AnimationDriver getAnimationDriver() {
+        return mAnimationDriver;
+    }
+
+    /**
+     * Called when a CheckableView below this group is attached to or detached from a window, which covers
+     * CheckableViews added to or removed from nested ViewGroups
+     */
+    void onCheckableViewsChanged() {
+        mIsCheckableViewsDirty = true;
+    }
+
+    void onCheckableViewKeyChanged(CheckableView checkableView, Object previousKey) {
+        if (previousKey != null && mKeyIndex.get(previousKey) == checkableView) {
+            mKeyIndex.remove(previousKey);
+        }
+        Object key = checkableView.getKey();
+        if (key != null) {
+            mKeyIndex.put(key, checkableView);
+        }
+    }
+
+    /**
+     * Syncs the selection with a CheckableView bound by an adapter, without notifying the OnCheckedChangeListener
+     *
+     * @param checkableView CheckableView whose state was bound
+     * @param isChecked The bound state of the CheckableView
+     * @see CheckableView#bind(int, int, String, boolean)
+     */
+    void onCheckableViewBound(CheckableView checkableView, boolean isChecked) {
+        if (isChecked) {
+            CheckableView previousCheckedView = mCheckedView;
+            mCheckedView = checkableView;
+            if (mChoiceMode == ChoiceMode.SINGLE && previousCheckedView != null && previousCheckedView != checkableView
+                    && previousCheckedView.isChecked()) {
+                previousCheckedView.bindChecked(false);
             }
+        } else if (checkableView == mCheckedView) {
+            mCheckedView = null;
         }
     }
 
-    private void updateCheckedPosition() {
-        for (int i=0; i<mCheckableViews.size(); i++) {
-            if (i != mLastCheckedPosition) {
-                if (mCheckableViews.get(i).isChecked()) {
-                    mCheckableViews.get(i).setChecked(false);
-                }
+    private void setCheckedView(CheckableView checkableView) {
+        CheckableView previousCheckedView = mCheckedView;
+        mCheckedView = checkableView;
+        if (mChoiceMode == ChoiceMode.SINGLE && previousCheckedView != null && previousCheckedView != checkableView
+                && previousCheckedView.isChecked()) {
+            previousCheckedView.setChecked(false);
+        }
+    }
+
+    private class PassThroughHierarchyChangeListener implements OnHierarchyChangeListener {
+        @Override
+        public void onChildViewAdded(View parent, View child) {
+            mIsCheckableViewsDirty = true;
+            if (mOnHierarchyChangeListener != null) {
+                mOnHierarchyChangeListener.onChildViewAdded(parent, child);
+            }
+        }
+
+        @Override
+        public void onChildViewRemoved(View parent, View child) {
+            mIsCheckableViewsDirty = true;
+            if (mOnHierarchyChangeListener != null) {
+                mOnHierarchyChangeListener.onChildViewRemoved(parent, child);
             }
         }
     }
@@ -0,0 +1,135 @@
+package com.github.gfranks.checkable.view;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+
+/**
+ * The set of colors used by a CheckableView. A palette can be resolved from the current theme's
+ * {@code checkableViewStyle} or from any style declaring {@code cv_*} color attributes, and applied to a single
+ * CheckableView, to every CheckableView of a CheckableGroup or to every CheckableView in the process. Applying a palette
+ * updates the existing drawables in place, nothing is inflated or rebuilt.
+ *
+ * @see CheckableView#setPalette(CheckablePalette)
+ * @see CheckableGroup#setPalette(CheckablePalette)
+ * @see CheckableView#setGlobalPalette(CheckablePalette)
+ */
+public class CheckablePalette {
+
+    /**
+     * Color used to set the color filter on the checked image view
+     */
+    private int mCheckedImageColor;
+    /**
+     * Color used to set the color filter on the normal image view
+     */
+    private int mNormalImageColor;
+    /**
+     * Color to be set on the label text view
+     */
+    private int mLabelTextColor;
+    /**
+     * Color used as the border color of the CheckableView
+     */
+    private int mBorderColor;
+    /**
+     * Color used as the background when the state is unchecked
+     */
+    private int mNormalBackgroundColor;
+    /**
+     * Color used as the background when the state is checked
+     */
+    private int mCheckedBackgroundColor;
+    /**
+     * Color of checkmark used in checked overlay
+     */
+    private int mCheckmarkColor;
+
+    /**
+     * Resolves the palette from the {@code checkableViewStyle} of the context's theme, falling back to the library defaults
+     *
+     * @param context Context whose theme is used
+     */
+    public CheckablePalette(Context context) {
+        TypedArray a = context.obtainStyledAttributes(null, R.styleable.CheckableView, R.attr.checkableViewStyle, 0);
+        init(context, a);
+        a.recycle();
+    }
+
+    /**
+     * Resolves the palette from a style declaring {@code cv_*} color attributes, falling back to the library defaults
+     *
+     * @param context Context used to resolve the style
+     * @param styleResId Resource Id of the style
+     */
+    public CheckablePalette(Context context, int styleResId) {
+        TypedArray a = context.obtainStyledAttributes(styleResId, R.styleable.CheckableView);
+        init(context, a);
+        a.recycle();
+    }
+
+    private void init(Context context, TypedArray a) {
+        mCheckedImageColor = a.getColor(R.styleable.CheckableView_cv_checkedColor, context.getResources().getColor(R.color.cv_gray));
+        mNormalImageColor = a.getColor(R.styleable.CheckableView_cv_normalColor, context.getResources().getColor(R.color.cv_gray_lightest));
+        mLabelTextColor = a.getColor(R.styleable.CheckableView_cv_labelTextColor, context.getResources().getColor(R.color.cv_gray));
+        mBorderColor = a.getColor(R.styleable.CheckableView_cv_borderColor, context.getResources().getColor(R.color.cv_gray_super_light));
+        mNormalBackgroundColor = a.getColor(R.styleable.CheckableView_cv_normalBackgroundColor, context.getResources().getColor(R.color.cv_gray_super_light));
+        mCheckedBackgroundColor = a.getColor(R.styleable.CheckableView_cv_checkedBackgroundColor, context.getResources().getColor(R.color.cv_white));
+        mCheckmarkColor = a.getColor(R.styleable.CheckableView_cv_checkmarkColor, context.getResources().getColor(R.color.cv_green));
+    }
+
+    public int getCheckedImageColor() {
+        return mCheckedImageColor;
+    }
+
+    public void setCheckedImageColor(int checkedImageColor) {
+        mCheckedImageColor = checkedImageColor;
+    }
+
+    public int getNormalImageColor() {
+        return mNormalImageColor;
+    }
+
+    public void setNormalImageColor(int normalImageColor) {
+        mNormalImageColor = normalImageColor;
+    }
+
+    public int getLabelTextColor() {
+        return mLabelTextColor;
+    }
+
+    public void setLabelTextColor(int labelTextColor) {
+        mLabelTextColor = labelTextColor;
+    }
+
+    public int getBorderColor() {
+        return mBorderColor;
+    }
+
+    public void setBorderColor(int borderColor) {
+        mBorderColor = borderColor;
+    }
+
+    public int getNormalBackgroundColor() {
+        return mNormalBackgroundColor;
+    }
+
+    public void setNormalBackgroundColor(int normalBackgroundColor) {
+        mNormalBackgroundColor = normalBackgroundColor;
+    }
+
+    public int getCheckedBackgroundColor() {
+        return mCheckedBackgroundColor;
+    }
+
+    public void setCheckedBackgroundColor(int checkedBackgroundColor) {
+        mCheckedBackgroundColor = checkedBackgroundColor;
+    }
+
+    public int getCheckmarkColor() {
+        return mCheckmarkColor;
+    }
+
+    public void setCheckmarkColor(int checkmarkColor) {
+        mCheckmarkColor = checkmarkColor;
+    }
+}
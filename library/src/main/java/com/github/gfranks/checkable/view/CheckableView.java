@@ -1,36 +1,56 @@
 package com.github.gfranks.checkable.view;
 
-import android.animation.Animator;
-import android.animation.AnimatorSet;
-import android.animation.ValueAnimator;
+import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Outline;
 import android.graphics.PorterDuff;
+import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
-import android.graphics.drawable.GradientDrawable;
-import android.graphics.drawable.LayerDrawable;
-import android.graphics.drawable.TransitionDrawable;
 import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
+import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.view.Gravity;
 import android.view.View;
-import android.view.animation.Animation;
-import android.view.animation.AnticipateInterpolator;
-import android.view.animation.OvershootInterpolator;
-import android.view.animation.ScaleAnimation;
+import android.view.ViewGroup;
+import android.view.ViewOutlineProvider;
+import android.view.ViewParent;
 import android.widget.FrameLayout;
 import android.widget.ImageView;
 import android.widget.TextView;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class CheckableView extends FrameLayout implements View.OnClickListener {
 
     private static final int DEFAULT_ANIMATION_DURATION = 300;
     private static final int DEFAULT_BORDER_WIDTH = 4;
     private static final int DEFAULT_BORDER_RADIUS = 12;
 
+    /**
+     * Palette applied to every CheckableView in the process, if any
+     */
+    private static CheckablePalette sGlobalPalette;
+    /**
+     * Incremented each time the global palette is set, so detached CheckableViews catch up once attached
+     */
+    private static int sGlobalPaletteGeneration;
+    /**
+     * CheckableViews currently attached to a window
+     */
+    private static final Set<CheckableView> sAttachedViews = new HashSet<CheckableView>();
+    /**
+     * Rect reused to test whether a CheckableView is on screen
+     */
+    private static final Rect sVisibleRect = new Rect();
+
     public enum CheckPosition {
         TOP_LEFT,
         TOP_RIGHT,
@@ -39,6 +59,25 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
         BOTTOM_RIGHT
     }
 
+    public enum AnimationPolicy {
+        /**
+         * Chosen from the animator duration scale, power save mode and low RAM devices
+         */
+        AUTO,
+        /**
+         * Images slide, the checked overlay pops in and the checkmark is drawn in
+         */
+        FULL,
+        /**
+         * Images, checked overlay and background only crossfade
+         */
+        REDUCED,
+        /**
+         * States are applied without animation
+         */
+        NONE
+    }
+
     /**
      * Container of the checked/normal images
      */
@@ -67,10 +106,18 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      * Color used to set the color filter on the normal image view
      */
     private int mNormalImageColor;
+    /**
+     * Whether a single image is used, animating only its color between the normal and checked colors
+     */
+    private boolean mIsSingleImage;
     /**
      * View used to indicate if the CheckableView is checked. Non-configurable.
      */
     private View mCheckedOverlay;
+    /**
+     * Drawable of the checked overlay, drawing the checkmark from a shared Path
+     */
+    private CheckmarkDrawable mCheckmarkDrawable;
     /**
      * TextView to display the label
      */
@@ -119,10 +166,100 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      * The checked state of the CheckableView
      */
     private boolean mIsChecked;
+    /**
+     * Whether the image container is clipped to its rounded outline, off-screen images are not drawn and
+     * the background layers are not stacked
+     */
+    private boolean mReduceOverdraw;
+    /**
+     * Whether a toggle animation is in progress
+     */
+    private boolean mIsAnimating;
+    /**
+     * Whether this CheckableView is in the list of views advanced by an AnimationDriver
+     */
+    boolean mIsDriven;
+    /**
+     * Frame time at which the current animation started
+     */
+    private long mAnimationStartTime;
+    /**
+     * Duration of the current animation
+     */
+    private int mRunningAnimationDuration;
+    /**
+     * Policy determining how state changes are animated
+     */
+    private AnimationPolicy mAnimationPolicy;
+    /**
+     * Whether the running animation only crossfades
+     */
+    private boolean mIsReducedAnimation;
+    /**
+     * Translations the checked and normal images animate from and to
+     */
+    private float mCheckedImageFromY;
+    private float mCheckedImageToY;
+    private float mNormalImageFromY;
+    private float mNormalImageToY;
     /**
      * OnCheckedChangeListener to receive callbacks when state has changed
      */
     private OnCheckedChangeListener mOnCheckedChangeListener;
+    /**
+     * Render cost counters for this CheckableView, only updated while RenderStats are enabled
+     */
+    private final RenderStats mRenderStats = new RenderStats();
+    /**
+     * Stable key identifying the CheckableView within its CheckableGroup
+     */
+    private Object mKey;
+    /**
+     * CheckableGroup this CheckableView is registered with, if any
+     */
+    CheckableGroup mCheckableGroup;
+    /**
+     * SelectionDomain this CheckableView has joined, if any
+     */
+    private SelectionDomain mSelectionDomain;
+    /**
+     * Generation of the global palette last applied to this CheckableView
+     */
+    private int mGlobalPaletteGeneration;
+    /**
+     * Whether idle states are drawn from a snapshot shared by identically styled CheckableViews
+     */
+    private boolean mIsSnapshotCacheEnabled;
+    /**
+     * Whether an image was set as a Drawable rather than a resource, which cannot be part of a snapshot key
+     */
+    private boolean mHasCheckedImageDrawable;
+    private boolean mHasNormalImageDrawable;
+    /**
+     * Background of the image container, its fraction driven by the toggle animation
+     */
+    private CheckableBackgroundDrawable mBackgroundDrawable;
+    /**
+     * Background fraction when the running animation started, so a reversed toggle continues from where it was
+     */
+    private float mBackgroundFromFraction;
+    /**
+     * Key of the snapshot of the current state, built on the first idle draw and cleared by every setter of a field it
+     * contains
+     */
+    private String mSnapshotKey;
+    /**
+     * Scroll tracker of the window this CheckableView is attached to
+     */
+    private ScrollTracker mScrollTracker;
+    /**
+     * Driver advancing the running animation, if any
+     */
+    private AnimationDriver mAnimationDriver;
+    /**
+     * Recorder of the animated properties, if any
+     */
+    private AnimationTimeline mAnimationTimeline;
 
     private boolean mIsInflated;
     private OnClickListener mOnClickListener;
@@ -131,23 +268,25 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
         super(context);
         super.setOnClickListener(this);
         setTag(getClass().getName());
-        mCheckedImageColor = context.getResources().getColor(R.color.cv_gray);
-        mNormalImageColor = context.getResources().getColor(R.color.cv_gray_lightest);
-        mLabelTextColor = context.getResources().getColor(R.color.cv_gray);
-        mBorderColor = context.getResources().getColor(R.color.cv_gray_super_light);
+        CheckablePalette palette = new CheckablePalette(context);
+        mCheckedImageColor = palette.getCheckedImageColor();
+        mNormalImageColor = palette.getNormalImageColor();
+        mLabelTextColor = palette.getLabelTextColor();
+        mBorderColor = palette.getBorderColor();
         mBorderWidth = DEFAULT_BORDER_WIDTH;
         mBorderRadius = DEFAULT_BORDER_RADIUS;
-        mNormalBackgroundColor = context.getResources().getColor(R.color.cv_gray_super_light);
-        mCheckedBackgroundColor = context.getResources().getColor(R.color.cv_white);
+        mNormalBackgroundColor = palette.getNormalBackgroundColor();
+        mCheckedBackgroundColor = palette.getCheckedBackgroundColor();
         mAnimationDuration = DEFAULT_ANIMATION_DURATION;
-        mCheckmarkColor = context.getResources().getColor(R.color.cv_green);
+        mCheckmarkColor = palette.getCheckmarkColor();
         mCheckmarkPosition = CheckPosition.TOP_RIGHT;
+        mAnimationPolicy = AnimationPolicy.AUTO;
         mIsChecked = false;
         init();
     }
 
     public CheckableView(Context context, AttributeSet attrs) {
-        this(context, attrs, 0);
+        this(context, attrs, R.attr.checkableViewStyle);
     }
 
     public CheckableView(Context context, AttributeSet attrs, int defStyleAttr) {
@@ -169,7 +308,12 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
         mAnimationDuration = a.getInt(R.styleable.CheckableView_cv_animationDuration, DEFAULT_ANIMATION_DURATION);
         mCheckmarkColor = a.getColor(R.styleable.CheckableView_cv_checkmarkColor, context.getResources().getColor(R.color.cv_green));
         mCheckmarkPosition = CheckPosition.values()[a.getInt(R.styleable.CheckableView_cv_checkmarkPosition, CheckPosition.TOP_RIGHT.ordinal())];
+        mAnimationPolicy = AnimationPolicy.values()[a.getInt(R.styleable.CheckableView_cv_animationPolicy, AnimationPolicy.AUTO.ordinal())];
         mIsChecked = a.getBoolean(R.styleable.CheckableView_cv_isChecked, false);
+        mIsSingleImage = a.getBoolean(R.styleable.CheckableView_cv_singleImage, false);
+        mReduceOverdraw = a.getBoolean(R.styleable.CheckableView_cv_reduceOverdraw, false);
+        mKey = a.getString(R.styleable.CheckableView_cv_key);
+        mIsSnapshotCacheEnabled = a.getBoolean(R.styleable.CheckableView_cv_snapshotCache, false);
         a.recycle();
 
         init();
@@ -183,6 +327,82 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
         mOnCheckedChangeListener = onCheckedChangeListener;
     }
 
+    OnCheckedChangeListener getOnCheckedChangeListener() {
+        return mOnCheckedChangeListener;
+    }
+
+    /**
+     *
+     * @return SelectionDomain this CheckableView has joined, or null if none
+     */
+    public SelectionDomain getSelectionDomain() {
+        return mSelectionDomain;
+    }
+
+    /**
+     * Joins a SelectionDomain, leaving the previous one if any. The domain enforces its choice mode on this
+     * CheckableView together with all its other members, wherever they are in the layout
+     *
+     * @param selectionDomain SelectionDomain to join, or null to leave the current one
+     */
+    public void setSelectionDomain(SelectionDomain selectionDomain) {
+        if (mSelectionDomain == selectionDomain) {
+            return;
+        }
+
+        if (mSelectionDomain != null) {
+            mSelectionDomain.remove(this);
+        }
+        mSelectionDomain = selectionDomain;
+        if (mSelectionDomain != null) {
+            mSelectionDomain.add(this);
+        }
+    }
+
+    /**
+     *
+     * @return Render cost counters for this CheckableView
+     * @see RenderStats#setEnabled(boolean)
+     */
+    public RenderStats getRenderStats() {
+        return mRenderStats;
+    }
+
+    /**
+     *
+     * @return Key identifying this CheckableView within its CheckableGroup. Defaults to the view id when no key is set
+     * @see #setKey(Object)
+     */
+    public Object getKey() {
+        if (mKey != null) {
+            return mKey;
+        }
+
+        return getId() != NO_ID ? Integer.valueOf(getId()) : null;
+    }
+
+    /**
+     *
+     * @param key Stable key used to select this CheckableView through its CheckableGroup. Must implement equals and hashCode
+     * @see CheckableGroup#setCheckedByKey(Object, boolean)
+     */
+    public void setKey(Object key) {
+        Object previousKey = getKey();
+        mKey = key;
+        if (mCheckableGroup != null) {
+            mCheckableGroup.onCheckableViewKeyChanged(this, previousKey);
+        }
+    }
+
+    @Override
+    public void setId(int id) {
+        Object previousKey = getKey();
+        super.setId(id);
+        if (mCheckableGroup != null) {
+            mCheckableGroup.onCheckableViewKeyChanged(this, previousKey);
+        }
+    }
+
     /**
      *
      * @return The checked image view
@@ -192,19 +412,30 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
     }
     /**
      *
-     * @param imageResId Resource Id to be set as the checked image
+     * @param imageResId Resource Id to be set as the checked image. Only displayed in single image mode when no normal image is set
      */
     public void setCheckedImageResource(int imageResId) {
         mCheckedImageResId = imageResId;
-        getCheckedImageView().setImageResource(imageResId);
+        mSnapshotKey = null;
+        mHasCheckedImageDrawable = false;
+        if (isSingleImage()) {
+            if (mNormalImageResId == -1) {
+                getNormalImageView().setImageResource(imageResId);
+            }
+        } else {
+            getCheckedImageView().setImageResource(imageResId);
+        }
     }
 
     /**
      *
-     * @param image Drawable to be set as the checked image
+     * @param image Drawable to be set as the checked image. Ignored in single image mode
      */
     public void setCheckedImageDrawable(Drawable image) {
-        getCheckedImageView().setImageDrawable(image);
+        if (!isSingleImage()) {
+            mHasCheckedImageDrawable = true;
+            getCheckedImageView().setImageDrawable(image);
+        }
     }
 
     /**
@@ -213,7 +444,12 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setCheckedImageColor(int checkedImageColor) {
         mCheckedImageColor = checkedImageColor;
-        getCheckedImageView().setColorFilter(mCheckedImageColor, PorterDuff.Mode.SRC_IN);
+        mSnapshotKey = null;
+        if (!isSingleImage()) {
+            getCheckedImageView().setColorFilter(mCheckedImageColor, PorterDuff.Mode.SRC_IN);
+        } else if (isChecked()) {
+            getNormalImageView().setColorFilter(mCheckedImageColor, PorterDuff.Mode.SRC_IN);
+        }
     }
 
     /**
@@ -230,6 +466,8 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setNormalImageResource(int imageResId) {
         mNormalImageResId = imageResId;
+        mSnapshotKey = null;
+        mHasNormalImageDrawable = false;
         getNormalImageView().setImageResource(imageResId);
     }
 
@@ -238,6 +476,7 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      * @param image Drawable to be set as the normal image
      */
     public void setNormalImageDrawable(Drawable image) {
+        mHasNormalImageDrawable = true;
         getNormalImageView().setImageDrawable(image);
     }
 
@@ -247,7 +486,41 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setNormalImageColor(int normalImageColor) {
         mNormalImageColor = normalImageColor;
-        getNormalImageView().setColorFilter(mNormalImageColor, PorterDuff.Mode.SRC_IN);
+        mSnapshotKey = null;
+        if (!isSingleImage() || !isChecked()) {
+            getNormalImageView().setColorFilter(mNormalImageColor, PorterDuff.Mode.SRC_IN);
+        }
+    }
+
+    /**
+     *
+     * @return Boolean determining if a single image is used for both states
+     * @see #setSingleImage(boolean)
+     */
+    public boolean isSingleImage() {
+        return mIsSingleImage;
+    }
+
+    /**
+     * Use a single image for both states, animating only its color from the normal color to the checked color.
+     * The checked image view is removed from the hierarchy while enabled, and the normal image is shown
+     * (falling back to the checked image when no normal image is set).
+     *
+     * @param singleImage Boolean to enable or disable single image mode
+     */
+    public void setSingleImage(boolean singleImage) {
+        if (mIsSingleImage == singleImage) {
+            return;
+        }
+
+        mIsSingleImage = singleImage;
+        mSnapshotKey = null;
+        initImageViews();
+        if (isChecked()) {
+            animateChecked(false);
+        } else {
+            animateUnchecked(false);
+        }
     }
 
     /**
@@ -280,7 +553,14 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      * @param label String to be set as the label for the CheckableView
      */
     public void setLabel(String label) {
+        applyLabel(label);
+        mImageViewContainer.requestLayout();
+        mRenderStats.recordLayoutRequest();
+    }
+
+    private void applyLabel(String label) {
         mLabel = label;
+        mSnapshotKey = null;
         if (getLabel() != null) {
             getLabelView().setText(getLabel());
             getLabelView().setVisibility(View.VISIBLE);
@@ -289,10 +569,68 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
             getLabelView().setVisibility(View.GONE);
             ((FrameLayout.LayoutParams) mImageViewContainer.getLayoutParams()).bottomMargin = getResources().getDimensionPixelSize(R.dimen.checkable_image_container_margin);
         }
-        mImageViewContainer.requestLayout();
         initCheckableOverlayPosition();
     }
 
+    /**
+     * Binds the full model of a recycled tile in one call. Fields which have not changed are left untouched, the
+     * state is applied without animation and layout is requested at most once. No OnCheckedChangeListener is
+     * notified, but the CheckableGroup or SelectionDomain of this CheckableView still keeps its selection in sync,
+     * unchecking the previously checked CheckableView when the choice mode is SINGLE. Meant for adapters, where the
+     * model rather than the CheckableView owns the selection
+     *
+     * @param checkedImageResId Resource Id to be set as the checked image
+     * @param normalImageResId Resource Id to be set as the normal image
+     * @param label String to be set as the label, or null for none
+     * @param isChecked Boolean to set the state of the CheckableView
+     */
+    public void bind(int checkedImageResId, int normalImageResId, String label, boolean isChecked) {
+        if (normalImageResId != mNormalImageResId || mHasNormalImageDrawable) {
+            setNormalImageResource(normalImageResId);
+        }
+        if (checkedImageResId != mCheckedImageResId || mHasCheckedImageDrawable) {
+            setCheckedImageResource(checkedImageResId);
+        }
+        if (!TextUtils.equals(label, mLabel)) {
+            applyLabel(label);
+            mImageViewContainer.requestLayout();
+            mRenderStats.recordLayoutRequest();
+        }
+
+        if (isChecked != mIsChecked) {
+            bindChecked(isChecked);
+        } else {
+            // a recycled tile may still be animating the state of its previous model
+            jumpToEndState();
+        }
+    }
+
+    /**
+     * Applies the state without animation and without notifying any OnCheckedChangeListener, only syncing the
+     * selection of the CheckableGroup and SelectionDomain of this CheckableView
+     *
+     * @param isChecked Boolean to set the state of the CheckableView
+     */
+    void bindChecked(boolean isChecked) {
+        if (isChecked == mIsChecked) {
+            return;
+        }
+
+        mIsChecked = isChecked;
+        mSnapshotKey = null;
+        if (isChecked()) {
+            animateChecked(false);
+        } else {
+            animateUnchecked(false);
+        }
+        if (mCheckableGroup != null) {
+            mCheckableGroup.onCheckableViewBound(this, isChecked());
+        }
+        if (mSelectionDomain != null) {
+            mSelectionDomain.onCheckableViewBound(this, isChecked());
+        }
+    }
+
     /**
      *
      * @return Color used as the label text view color
@@ -308,6 +646,7 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setLabelTextColor(int labelTextColor) {
         mLabelTextColor = labelTextColor;
+        mSnapshotKey = null;
         mLabelView.setTextColor(getLabelTextColor());
     }
 
@@ -326,7 +665,8 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setBorderColor(int borderColor) {
         mBorderColor = borderColor;
-        initImageContainerBackground();
+        mSnapshotKey = null;
+        updateImageContainerBackground();
     }
 
     /**
@@ -344,7 +684,8 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setBorderWidth(int borderWidth) {
         mBorderWidth = borderWidth;
-        initImageContainerBackground();
+        mSnapshotKey = null;
+        updateImageContainerBackground();
     }
 
     /**
@@ -362,6 +703,54 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setBorderRadius(float borderRadius) {
         mBorderRadius = borderRadius;
+        mSnapshotKey = null;
+        updateImageContainerBackground();
+        if (isReduceOverdraw() && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            mImageViewContainer.invalidateOutline();
+        }
+    }
+
+    /**
+     *
+     * @return Boolean determining if the reduced overdraw rendering mode is enabled
+     * @see #setReduceOverdraw(boolean)
+     */
+    public boolean isReduceOverdraw() {
+        return mReduceOverdraw;
+    }
+
+    /**
+     * Clip the image container to its rounded outline (API 21+) and skip drawing the image that is translated out of
+     * the container while idle.
+     *
+     * @param reduceOverdraw Boolean to enable or disable the reduced overdraw rendering mode
+     */
+    public void setReduceOverdraw(boolean reduceOverdraw) {
+        mReduceOverdraw = reduceOverdraw;
+        mSnapshotKey = null;
+        initImageContainerClipping();
+        updateImageVisibility();
+    }
+
+    /**
+     *
+     * @return Boolean determining if idle states are drawn from shared snapshots
+     * @see #setSnapshotCacheEnabled(boolean)
+     */
+    public boolean isSnapshotCacheEnabled() {
+        return mIsSnapshotCacheEnabled;
+    }
+
+    /**
+     * While idle, draw the CheckableView from a snapshot rendered once and shared by every CheckableView with the same
+     * style, images, label, size and checked state. The live hierarchy is only drawn while animating. Images set as
+     * Drawables rather than resources disable the snapshot for this CheckableView.
+     *
+     * @param snapshotCacheEnabled Boolean to enable or disable drawing from shared snapshots
+     */
+    public void setSnapshotCacheEnabled(boolean snapshotCacheEnabled) {
+        mIsSnapshotCacheEnabled = snapshotCacheEnabled;
+        invalidate();
     }
 
     /**
@@ -379,7 +768,8 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setNormalBackgroundColor(int normalBackgroundColor) {
         mNormalBackgroundColor = normalBackgroundColor;
-        initImageContainerBackground();
+        mSnapshotKey = null;
+        updateImageContainerBackground();
     }
 
     /**
@@ -397,7 +787,9 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setCheckedBackgroundColor(int checkedBackgroundColor) {
         mCheckedBackgroundColor = checkedBackgroundColor;
-        initImageContainerBackground();
+        mSnapshotKey = null;
+        updateImageContainerBackground();
+        updateCheckableOverlayBackground();
     }
 
     /**
@@ -417,6 +809,44 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
         mAnimationDuration = animationDuration;
     }
 
+    /**
+     *
+     * @return AnimationPolicy enum set on this CheckableView
+     * @see #setAnimationPolicy(com.github.gfranks.checkable.view.CheckableView.AnimationPolicy)
+     */
+    public AnimationPolicy getAnimationPolicy() {
+        return mAnimationPolicy;
+    }
+
+    /**
+     *
+     * @param animationPolicy AnimationPolicy enum to determine how state changes are animated. AUTO defers to the
+     *                        CheckableGroup's policy, if any, and then to system signals
+     * @see com.github.gfranks.checkable.view.CheckableView.AnimationPolicy
+     */
+    public void setAnimationPolicy(AnimationPolicy animationPolicy) {
+        mAnimationPolicy = animationPolicy;
+    }
+
+    /**
+     *
+     * @return AnimationPolicy enum currently applied, never AUTO
+     */
+    public AnimationPolicy getResolvedAnimationPolicy() {
+        if (mAnimationPolicy != AnimationPolicy.AUTO) {
+            return mAnimationPolicy;
+        }
+        if (mCheckableGroup != null && mCheckableGroup.getAnimationPolicy() != AnimationPolicy.AUTO) {
+            return mCheckableGroup.getAnimationPolicy();
+        }
+        if (getAnimationDriver().isManual()) {
+            // system signals describe the display, which does not produce the frames of a manual clock
+            return AnimationPolicy.FULL;
+        }
+
+        return SystemAnimationPolicy.get(getContext());
+    }
+
     /**
      *
      * @return Color used to color the checkmark in the checked overlay
@@ -432,7 +862,8 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setCheckmarkColor(int checkedmarkColor) {
         mCheckmarkColor = checkedmarkColor;
-        initCheckableOverlayBackground();
+        mSnapshotKey = null;
+        updateCheckableOverlayBackground();
     }
 
     /**
@@ -451,9 +882,92 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setCheckmarkPosition(CheckPosition checkmarkPosition) {
         mCheckmarkPosition = checkmarkPosition;
+        mSnapshotKey = null;
         initCheckableOverlayPosition();
     }
 
+    /**
+     * Sets all colors of the CheckableView at once, updating the existing drawables in place
+     *
+     * @param palette CheckablePalette containing the colors to be set
+     */
+    public void setPalette(CheckablePalette palette) {
+        mCheckedImageColor = palette.getCheckedImageColor();
+        mNormalImageColor = palette.getNormalImageColor();
+        mLabelTextColor = palette.getLabelTextColor();
+        mBorderColor = palette.getBorderColor();
+        mNormalBackgroundColor = palette.getNormalBackgroundColor();
+        mCheckedBackgroundColor = palette.getCheckedBackgroundColor();
+        mCheckmarkColor = palette.getCheckmarkColor();
+        mSnapshotKey = null;
+
+        setCheckedImageColor(mCheckedImageColor);
+        setNormalImageColor(mNormalImageColor);
+        mLabelView.setTextColor(mLabelTextColor);
+        updateImageContainerBackground();
+        updateCheckableOverlayBackground();
+    }
+
+    /**
+     * Sets the palette of every CheckableView in the process. Attached CheckableViews are updated immediately, all
+     * others when they are next attached to a window. Overrides colors set through attributes or setters
+     *
+     * @param palette CheckablePalette containing the colors to be set
+     */
+    public static void setGlobalPalette(CheckablePalette palette) {
+        sGlobalPalette = palette;
+        sGlobalPaletteGeneration++;
+        for (CheckableView checkableView : sAttachedViews) {
+            checkableView.applyGlobalPalette();
+        }
+    }
+
+    /**
+     * Sets the time source of every CheckableView which does not belong to a CheckableGroup. Use a
+     * {@link ManualAnimationClock} to step animations frame by frame in tests and benchmarks.
+     *
+     * @param animationClock AnimationClock to be used, or null for {@link AnimationClock#SYSTEM}
+     * @see CheckableGroup#setAnimationClock(AnimationClock)
+     */
+    public static void setDefaultAnimationClock(AnimationClock animationClock) {
+        AnimationDriver.getDefault().setAnimationClock(animationClock);
+    }
+
+    /**
+     *
+     * @return AnimationClock of every CheckableView which does not belong to a CheckableGroup
+     */
+    public static AnimationClock getDefaultAnimationClock() {
+        return AnimationDriver.getDefault().getAnimationClock();
+    }
+
+    /**
+     *
+     * @return AnimationTimeline recording the animated properties of this CheckableView, or null if none is set
+     */
+    public AnimationTimeline getAnimationTimeline() {
+        return mAnimationTimeline;
+    }
+
+    /**
+     * Records the animated properties of this CheckableView on every animation frame and whenever a state is applied
+     * without animation
+     *
+     * @param animationTimeline AnimationTimeline to record to, or null to stop recording
+     */
+    public void setAnimationTimeline(AnimationTimeline animationTimeline) {
+        mAnimationTimeline = animationTimeline;
+    }
+
+    /**
+     *
+     * @return Palette set on every CheckableView in the process, or null if none has been set
+     * @see #setGlobalPalette(CheckablePalette)
+     */
+    public static CheckablePalette getGlobalPalette() {
+        return sGlobalPalette;
+    }
+
     /**
      *
      * @return Boolean determining state of CheckableView
@@ -469,15 +983,20 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void setChecked(boolean isChecked) {
         mIsChecked = isChecked;
+        mSnapshotKey = null;
+        boolean animate = shouldAnimate();
         if (isChecked()) {
-            animateChecked(mIsInflated);
+            animateChecked(animate);
         } else {
-            animateUnchecked(mIsInflated);
+            animateUnchecked(animate);
         }
 
         if (mOnCheckedChangeListener != null && mIsInflated) {
             mOnCheckedChangeListener.onCheckedChanged(this, isChecked());
         }
+        if (mSelectionDomain != null) {
+            mSelectionDomain.onCheckedChanged(this, isChecked());
+        }
     }
 
     /**
@@ -486,6 +1005,7 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
      */
     public void forceSetChecked(boolean isChecked) {
         mIsChecked = isChecked;
+        mSnapshotKey = null;
         if (isChecked()) {
             animateChecked(false);
         } else {
@@ -495,6 +1015,9 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
         if (mOnCheckedChangeListener != null && mIsInflated) {
             mOnCheckedChangeListener.onCheckedChanged(this, isChecked());
         }
+        if (mSelectionDomain != null) {
+            mSelectionDomain.onCheckedChanged(this, isChecked());
+        }
     }
 
     /**
@@ -538,6 +1061,7 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
         SavedState ss = (SavedState) state;
         super.onRestoreInstanceState(ss.getSuperState());
         mIsChecked = ss.mIsChecked;
+        mSnapshotKey = null;
         setLabel(ss.mLabel);
         if (isChecked()) {
             animateChecked(false);
@@ -546,14 +1070,117 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
         }
     }
 
+    @Override
+    protected void dispatchDraw(@NonNull Canvas canvas) {
+        if (!isSnapshotCacheEnabled() || mIsAnimating || mHasCheckedImageDrawable || mHasNormalImageDrawable
+                || getWidth() <= 0 || getHeight() <= 0) {
+            super.dispatchDraw(canvas);
+            return;
+        }
+
+        String snapshotKey = getSnapshotKey();
+        Bitmap snapshot = SnapshotCache.get(snapshotKey);
+        if (snapshot == null) {
+            snapshot = Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.ARGB_8888);
+            super.dispatchDraw(new Canvas(snapshot));
+            SnapshotCache.put(snapshotKey, snapshot);
+        }
+        canvas.drawBitmap(snapshot, 0, 0, null);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        mSnapshotKey = null;
+        if (!mIsAnimating && !isSingleImage()) {
+            applyRestingTranslations();
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        sAttachedViews.add(this);
+        mScrollTracker = ScrollTracker.get(this);
+        applyGlobalPalette();
+        CheckableGroup checkableGroup = findParentCheckableGroup();
+        if (checkableGroup != null) {
+            checkableGroup.onCheckableViewsChanged();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        sAttachedViews.remove(this);
+        mScrollTracker = null;
+        if (mCheckableGroup != null) {
+            mCheckableGroup.onCheckableViewsChanged();
+        }
+        // jump to the end state so the driver does not keep this view alive
+        jumpToEndState();
+        super.onDetachedFromWindow();
+    }
+
     @Override
     protected void onFinishInflate() {
         super.onFinishInflate();
         mIsInflated = true;
     }
 
+    private CheckableGroup findParentCheckableGroup() {
+        ViewParent parent = getParent();
+        while (parent != null) {
+            if (parent instanceof CheckableGroup) {
+                return (CheckableGroup) parent;
+            }
+            parent = parent.getParent();
+        }
+
+        return null;
+    }
+
+    /**
+     * Cancels the running animation, if any, and applies the current state without animation
+     */
+    void jumpToEndState() {
+        if (mIsAnimating) {
+            if (isChecked()) {
+                animateChecked(false);
+            } else {
+                animateUnchecked(false);
+            }
+        }
+    }
+
+    /**
+     * State changes are only animated when somebody can see them. CheckableViews which are detached, hidden, scrolled
+     * off screen or inside a window that is scrolling apply their new state instantly instead.
+     *
+     * @return Boolean determining if a state change should be animated
+     */
+    private boolean shouldAnimate() {
+        if (!mIsInflated || getResolvedAnimationPolicy() == AnimationPolicy.NONE) {
+            return false;
+        }
+        if (getAnimationDriver().isManual()) {
+            // frames are produced by the caller rather than the display
+            return true;
+        }
+
+        return mScrollTracker != null
+                && !mScrollTracker.isScrolling()
+                && isShown()
+                && getLocalVisibleRect(sVisibleRect);
+    }
+
+    private AnimationDriver getAnimationDriver() {
+        return mCheckableGroup != null ? mCheckableGroup.getAnimationDriver() : AnimationDriver.getDefault();
+    }
+
     private void init() {
+        CacheTrimmer.register(getContext());
         inflate(getContext(), R.layout.layout_checkable_view, this);
+        mRenderStats.recordInflation();
 
         mImageViewContainer = findViewById(R.id.checkable_view_image_container);
         mCheckedImageView = (ImageView) findViewById(R.id.checkable_view_checked_image);
@@ -561,14 +1188,12 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
         mCheckedOverlay = findViewById(R.id.checkable_view_checked_overlay);
         mLabelView = (TextView) findViewById(R.id.checkable_view_label);
 
-        setCheckedImageColor(mCheckedImageColor);
-        setNormalImageColor(mNormalImageColor);
-        setCheckedImageResource(mCheckedImageResId);
-        setNormalImageResource(mNormalImageResId);
+        initImageViews();
         setLabel(mLabel);
         setLabelTextColor(mLabelTextColor);
 
         initBackgrounds();
+        initImageContainerClipping();
 
         if (isChecked()) {
             animateChecked(false);
@@ -577,6 +1202,25 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
         }
     }
 
+    private void initImageViews() {
+        ViewGroup imageViewContainer = (ViewGroup) mImageViewContainer;
+        if (isSingleImage()) {
+            imageViewContainer.removeView(mCheckedImageView);
+            mCheckedImageView.setImageDrawable(null);
+            getNormalImageView().setTranslationY(0);
+            getNormalImageView().setImageResource(mNormalImageResId != -1 ? mNormalImageResId : mCheckedImageResId);
+            getNormalImageView().setColorFilter(isChecked() ? mCheckedImageColor : mNormalImageColor, PorterDuff.Mode.SRC_IN);
+        } else {
+            if (mCheckedImageView.getParent() == null) {
+                imageViewContainer.addView(mCheckedImageView, 0);
+            }
+            setCheckedImageColor(mCheckedImageColor);
+            setNormalImageColor(mNormalImageColor);
+            setCheckedImageResource(mCheckedImageResId);
+            setNormalImageResource(mNormalImageResId);
+        }
+    }
+
     private void initBackgrounds() {
         initImageContainerBackground();
         initCheckableOverlayBackground();
@@ -584,36 +1228,102 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
     }
 
     private void initImageContainerBackground() {
-        GradientDrawable normalBackground = (GradientDrawable) getResources().getDrawable(R.drawable.bg_checkable_view);
-        normalBackground.setColor(getNormalBackgroundColor());
-        normalBackground.setStroke(getBorderWidth(), getBorderColor());
-        normalBackground.setCornerRadius(getBorderRadius());
-        GradientDrawable checkedBackground = (GradientDrawable) getResources().getDrawable(R.drawable.bg_checkable_view);
-        checkedBackground.setColor(getCheckedBackgroundColor());
-        checkedBackground.setStroke(getBorderWidth(), getBorderColor());
-        checkedBackground.setCornerRadius(getBorderRadius());
-
-        TransitionDrawable transitionDrawable = new TransitionDrawable(new Drawable[] {normalBackground, checkedBackground} );
+        mRenderStats.recordDrawableRebuild();
+        // a single shape blended between both colors, so a transition fills the background once per frame
+        mBackgroundDrawable = new CheckableBackgroundDrawable();
+        mBackgroundDrawable.setFraction(isChecked() ? 1 : 0);
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
-            mImageViewContainer.setBackground(transitionDrawable);
+            mImageViewContainer.setBackground(mBackgroundDrawable);
         } else {
-            mImageViewContainer.setBackgroundDrawable(transitionDrawable);
+            mImageViewContainer.setBackgroundDrawable(mBackgroundDrawable);
         }
+        updateImageContainerBackground();
     }
 
-    private void initCheckableOverlayBackground() {
-        LayerDrawable checkedOverlayBackground = (LayerDrawable) getResources().getDrawable(R.drawable.bg_checked_overlay);
-        ((GradientDrawable) checkedOverlayBackground.getDrawable(0)).setColor(getCheckedBackgroundColor());
+    private void updateImageContainerBackground() {
+        mBackgroundDrawable.setColors(getNormalBackgroundColor(), getCheckedBackgroundColor());
+        mBackgroundDrawable.setBorder(getBorderWidth(), getBorderColor(), getBorderRadius());
+    }
+
+    private void initImageContainerClipping() {
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            checkedOverlayBackground.getDrawable(1).setTint(getCheckmarkColor());
+            initImageContainerOutline();
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private void initImageContainerOutline() {
+        if (isReduceOverdraw()) {
+            mImageViewContainer.setOutlineProvider(new ViewOutlineProvider() {
+                @Override
+                public void getOutline(View view, Outline outline) {
+                    outline.setRoundRect(0, 0, view.getWidth(), view.getHeight(), getBorderRadius());
+                }
+            });
+            mImageViewContainer.setClipToOutline(true);
+        } else {
+            mImageViewContainer.setOutlineProvider(ViewOutlineProvider.BACKGROUND);
+            mImageViewContainer.setClipToOutline(false);
+        }
+    }
+
+    private void updateImageVisibility() {
+        if (!isReduceOverdraw() || isSingleImage()) {
+            getCheckedImageView().setVisibility(View.VISIBLE);
+            getNormalImageView().setVisibility(View.VISIBLE);
         } else {
-            checkedOverlayBackground.getDrawable(1).mutate().setColorFilter(getCheckmarkColor(), PorterDuff.Mode.SRC_IN);
+            getCheckedImageView().setVisibility(isChecked() ? View.VISIBLE : View.INVISIBLE);
+            getNormalImageView().setVisibility(isChecked() ? View.INVISIBLE : View.VISIBLE);
         }
+    }
 
+    private void initCheckableOverlayBackground() {
+        mRenderStats.recordDrawableRebuild();
+        mCheckmarkDrawable = new CheckmarkDrawable();
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
-            mCheckedOverlay.setBackground(checkedOverlayBackground);
+            mCheckedOverlay.setBackground(mCheckmarkDrawable);
         } else {
-            mCheckedOverlay.setBackgroundDrawable(checkedOverlayBackground);
+            mCheckedOverlay.setBackgroundDrawable(mCheckmarkDrawable);
+        }
+        updateCheckableOverlayBackground();
+    }
+
+    private void updateCheckableOverlayBackground() {
+        mCheckmarkDrawable.setBackgroundColor(getCheckedBackgroundColor());
+        mCheckmarkDrawable.setCheckmarkColor(getCheckmarkColor());
+    }
+
+    private String getSnapshotKey() {
+        if (mSnapshotKey != null) {
+            return mSnapshotKey;
+        }
+
+        StringBuilder snapshotKeyBuilder = new StringBuilder();
+        snapshotKeyBuilder.append(getWidth()).append('x').append(getHeight())
+                .append('|').append(isChecked())
+                .append('|').append(isSingleImage())
+                .append('|').append(isReduceOverdraw())
+                .append('|').append(mCheckedImageResId)
+                .append('|').append(mNormalImageResId)
+                .append('|').append(mCheckedImageColor)
+                .append('|').append(mNormalImageColor)
+                .append('|').append(mLabelTextColor)
+                .append('|').append(mBorderColor)
+                .append('|').append(mBorderWidth)
+                .append('|').append(mBorderRadius)
+                .append('|').append(mNormalBackgroundColor)
+                .append('|').append(mCheckedBackgroundColor)
+                .append('|').append(mCheckmarkColor)
+                .append('|').append(mCheckmarkPosition.ordinal())
+                .append('|').append(mLabel);
+        mSnapshotKey = snapshotKeyBuilder.toString();
+        return mSnapshotKey;
+    }
+
+    private void applyGlobalPalette() {
+        if (sGlobalPalette != null && mGlobalPaletteGeneration != sGlobalPaletteGeneration) {
+            mGlobalPaletteGeneration = sGlobalPaletteGeneration;
+            setPalette(sGlobalPalette);
         }
     }
 
@@ -657,105 +1367,234 @@ public class CheckableView extends FrameLayout implements View.OnClickListener {
 
     private void animateChecked(boolean animate) {
         if (animate) {
-            AnimatorSet set = new AnimatorSet();
-            set.playTogether(
-                    getImageTranslateAnimator(getCheckedImageView(), -mImageViewContainer.getMeasuredHeight(), 0),
-                    getImageTranslateAnimator(getNormalImageView(), 0, mImageViewContainer.getMeasuredHeight()));
-            set.start();
-            startCheckedOverlayAnimation(true);
-            startBackgroundTransition(true);
+            mCheckedImageFromY = -mImageViewContainer.getMeasuredHeight();
+            mCheckedImageToY = 0;
+            mNormalImageFromY = 0;
+            mNormalImageToY = mImageViewContainer.getMeasuredHeight();
+            startAnimation();
         } else {
-            measure(MeasureSpec.makeMeasureSpec(LayoutParams.MATCH_PARENT, MeasureSpec.EXACTLY),
-                    MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
-            getCheckedImageView().setTranslationY(0);
-            float translationY = getMeasuredHeight();
-            if (getLabel() != null) {
-                translationY *=2;
+            cancelAnimation();
+            if (isSingleImage()) {
+                getNormalImageView().setColorFilter(mCheckedImageColor, PorterDuff.Mode.SRC_IN);
+            } else {
+                applyRestingTranslations();
             }
-            getNormalImageView().setTranslationY(translationY);
+            updateImageVisibility();
             mCheckedOverlay.setVisibility(View.VISIBLE);
-            ((TransitionDrawable) mImageViewContainer.getBackground()).startTransition(0);
+            mBackgroundDrawable.setFraction(1);
+            recordAnimationFrame(getAnimationDriver().getFrameTime(), 1, 1);
         }
     }
 
     private void animateUnchecked(boolean animate) {
         if (animate) {
-            AnimatorSet set = new AnimatorSet();
-            set.playTogether(
-                    getImageTranslateAnimator(getCheckedImageView(), 0, -mImageViewContainer.getMeasuredHeight()),
-                    getImageTranslateAnimator(getNormalImageView(), mImageViewContainer.getBottom(), 0));
-            set.start();
-            startCheckedOverlayAnimation(false);
-            startBackgroundTransition(false);
+            mCheckedImageFromY = 0;
+            mCheckedImageToY = -mImageViewContainer.getMeasuredHeight();
+            mNormalImageFromY = mImageViewContainer.getBottom();
+            mNormalImageToY = 0;
+            startAnimation();
         } else {
-            measure(MeasureSpec.makeMeasureSpec(LayoutParams.MATCH_PARENT, MeasureSpec.EXACTLY),
-                    MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
-            float translationY = -getMeasuredHeight();
-            if (getLabel() != null) {
-                translationY *=2;
+            cancelAnimation();
+            if (isSingleImage()) {
+                getNormalImageView().setColorFilter(mNormalImageColor, PorterDuff.Mode.SRC_IN);
+            } else {
+                applyRestingTranslations();
             }
-            getCheckedImageView().setTranslationY(translationY);
-            getNormalImageView().setTranslationY(0);
-            mCheckedOverlay.setVisibility(View.GONE);
-            ((TransitionDrawable) mImageViewContainer.getBackground()).resetTransition();
+            updateImageVisibility();
+            mCheckedOverlay.setVisibility(View.INVISIBLE);
+            mBackgroundDrawable.setFraction(0);
+            recordAnimationFrame(getAnimationDriver().getFrameTime(), 0, 0);
         }
     }
 
-    private Animator getImageTranslateAnimator(final View view, float fromY, float toY) {
-        ValueAnimator animator = ValueAnimator.ofFloat(fromY, toY);
-        animator.setDuration(mIsInflated ? getAnimationDuration() : 0);
-        animator.setInterpolator(new OvershootInterpolator(1.5f));
-        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                view.setTranslationY((Float) animation.getAnimatedValue());
-            }
-        });
-        return animator;
-    }
-
-    private void startCheckedOverlayAnimation(final boolean scaleUp) {
-        ScaleAnimation animation = new ScaleAnimation(scaleUp ? 0 : 1,
-                scaleUp ? 1 : 0,
-                scaleUp ? 0 : 1,
-                scaleUp ? 1 : 0,
-                Animation.RELATIVE_TO_SELF, 0.5f, Animation.RELATIVE_TO_SELF, 0.5f);
-        animation.setDuration(mIsInflated ? getAnimationDuration() : 0);
-        animation.setStartOffset(scaleUp ? (getAnimationDuration() / 6) : (getAnimationDuration() / 4));
-        if (scaleUp) {
-            animation.setInterpolator(new OvershootInterpolator(4f));
+    /**
+     * Moves the image of the other state out of view. Uses the current size, which is re-applied from
+     * {@link #onSizeChanged(int, int, int, int)}, so no measure pass has to be forced
+     */
+    private void applyRestingTranslations() {
+        float translationY = getHeight();
+        if (getLabel() != null) {
+            translationY *= 2;
+        }
+        if (isChecked()) {
+            getCheckedImageView().setTranslationY(0);
+            getNormalImageView().setTranslationY(translationY);
         } else {
-            animation.setInterpolator(new AnticipateInterpolator(4f));
+            getCheckedImageView().setTranslationY(-translationY);
+            getNormalImageView().setTranslationY(0);
         }
-        animation.setAnimationListener(new Animation.AnimationListener() {
-            @Override
-            public void onAnimationStart(Animation animation) {
-                if (scaleUp) {
-                    mCheckedOverlay.setVisibility(View.VISIBLE);
-                }
-            }
+    }
 
-            @Override
-            public void onAnimationEnd(Animation animation) {
-                if (!scaleUp) {
-                    mCheckedOverlay.setVisibility(View.GONE);
-                }
-            }
+    private void startAnimation() {
+        AnimationDriver animationDriver = getAnimationDriver();
+        if (mIsAnimating && mAnimationDriver != animationDriver) {
+            // joined or left a CheckableGroup while animating
+            mAnimationDriver.stop(this);
+        }
+        mIsAnimating = true;
+        mAnimationDriver = animationDriver;
+        mAnimationStartTime = animationDriver.getFrameTime();
+        mRunningAnimationDuration = mIsInflated ? getAnimationDuration() : 0;
+        if (!animationDriver.isManual()) {
+            mRunningAnimationDuration *= SystemAnimationPolicy.getDurationScale(getContext());
+        }
+        if (mIsReducedAnimation) {
+            resetCrossfade();
+        }
+        mIsReducedAnimation = getResolvedAnimationPolicy() == AnimationPolicy.REDUCED;
+        if (mIsReducedAnimation && !isSingleImage()) {
+            // crossfade in place rather than sliding
+            getCheckedImageView().setTranslationY(0);
+            getNormalImageView().setTranslationY(0);
+        }
 
-            @Override
-            public void onAnimationRepeat(Animation animation) {
+        getCheckedImageView().setVisibility(View.VISIBLE);
+        getNormalImageView().setVisibility(View.VISIBLE);
+        if (isChecked()) {
+            mCheckedOverlay.setVisibility(View.VISIBLE);
+        }
+        mBackgroundFromFraction = mBackgroundDrawable.getFraction();
 
+        if (onAnimationFrame(mAnimationStartTime)) {
+            animationDriver.start(this);
+        }
+    }
+
+    private void cancelAnimation() {
+        if (mIsAnimating) {
+            mIsAnimating = false;
+            mAnimationDriver.stop(this);
+            mAnimationDriver = null;
+            mCheckedOverlay.setScaleX(1);
+            mCheckedOverlay.setScaleY(1);
+            mCheckmarkDrawable.setProgress(1);
+            if (mIsReducedAnimation) {
+                resetCrossfade();
             }
-        });
-        mCheckedOverlay.startAnimation(animation);
+        }
+    }
+
+    private void resetCrossfade() {
+        mIsReducedAnimation = false;
+        getCheckedImageView().setAlpha(1);
+        getNormalImageView().setAlpha(1);
+        mCheckedOverlay.setAlpha(1);
+    }
+
+    /**
+     * Applies the current animation at the given frame time. Called by the AnimationDriver every frame.
+     *
+     * @param frameTime Frame time to advance the animation to
+     * @return Boolean determining if the animation is still running
+     */
+    boolean onAnimationFrame(long frameTime) {
+        if (!mIsAnimating) {
+            return false;
+        }
+        if (mIsReducedAnimation) {
+            return onReducedAnimationFrame(frameTime);
+        }
+
+        long elapsed = frameTime - mAnimationStartTime;
+        int duration = mRunningAnimationDuration;
+        float imageFraction = duration > 0 ? elapsed / (float) duration : 1;
+        if (isSingleImage()) {
+            float colorFraction = CurveTable.IMAGE_COLOR.get(imageFraction);
+            getNormalImageView().setColorFilter(isChecked() ? blendColors(mNormalImageColor, mCheckedImageColor, colorFraction)
+                    : blendColors(mCheckedImageColor, mNormalImageColor, colorFraction), PorterDuff.Mode.SRC_IN);
+        } else {
+            float translateFraction = CurveTable.IMAGE_TRANSLATE.get(imageFraction);
+            getCheckedImageView().setTranslationY(mCheckedImageFromY + (mCheckedImageToY - mCheckedImageFromY) * translateFraction);
+            getNormalImageView().setTranslationY(mNormalImageFromY + (mNormalImageToY - mNormalImageFromY) * translateFraction);
+        }
+
+        int overlayOffset = isChecked() ? (duration / 6) : (duration / 4);
+        float overlayFraction = duration > 0 ? (elapsed - overlayOffset) / (float) duration : 1;
+        float overlayScale = isChecked() ? CurveTable.OVERLAY_SCALE_UP.get(overlayFraction)
+                : 1 - CurveTable.OVERLAY_SCALE_DOWN.get(overlayFraction);
+        mCheckedOverlay.setScaleX(overlayScale);
+        mCheckedOverlay.setScaleY(overlayScale);
+        // the checkmark stroke is drawn in once the overlay has started to pop up
+        mCheckmarkDrawable.setProgress(isChecked() ? (overlayFraction - 0.25f) / 0.75f : 1);
+
+        // the background transition runs over the first half of the animation
+        float backgroundFraction = setBackgroundFraction(duration > 0 ? elapsed / (duration / 2f) : 1);
+
+        if (imageFraction < 1 || overlayFraction < 1) {
+            recordAnimationFrame(frameTime, overlayScale, backgroundFraction);
+            return true;
+        }
+
+        mIsAnimating = false;
+        mCheckedOverlay.setScaleX(1);
+        mCheckedOverlay.setScaleY(1);
+        if (!isChecked()) {
+            mCheckedOverlay.setVisibility(View.INVISIBLE);
+        }
+        updateImageVisibility();
+        recordAnimationFrame(frameTime, isChecked() ? 1 : 0, backgroundFraction);
+        return false;
     }
 
-    private void startBackgroundTransition(boolean isChecking) {
-        if (isChecking) {
-            ((TransitionDrawable) mImageViewContainer.getBackground()).startTransition(mIsInflated ? getAnimationDuration() / 2 : 0);
+    private boolean onReducedAnimationFrame(long frameTime) {
+        int duration = mRunningAnimationDuration;
+        float fraction = duration > 0 ? Math.min(1, (frameTime - mAnimationStartTime) / (float) duration) : 1;
+        float checkedFraction = isChecked() ? fraction : 1 - fraction;
+        if (isSingleImage()) {
+            getNormalImageView().setColorFilter(blendColors(mNormalImageColor, mCheckedImageColor, checkedFraction), PorterDuff.Mode.SRC_IN);
         } else {
-            ((TransitionDrawable) mImageViewContainer.getBackground()).reverseTransition(mIsInflated ? getAnimationDuration() / 2 : 0);
+            getCheckedImageView().setAlpha(checkedFraction);
+            getNormalImageView().setAlpha(1 - checkedFraction);
+        }
+        mCheckedOverlay.setAlpha(checkedFraction);
+        mCheckmarkDrawable.setProgress(1);
+        float backgroundFraction = setBackgroundFraction(fraction);
+
+        if (fraction < 1) {
+            recordAnimationFrame(frameTime, 1, backgroundFraction);
+            return true;
+        }
+
+        mIsAnimating = false;
+        resetCrossfade();
+        if (!isSingleImage()) {
+            applyRestingTranslations();
         }
+        if (!isChecked()) {
+            mCheckedOverlay.setVisibility(View.INVISIBLE);
+        }
+        updateImageVisibility();
+        recordAnimationFrame(frameTime, isChecked() ? 1 : 0, backgroundFraction);
+        return false;
+    }
+
+    private void recordAnimationFrame(long frameTime, float overlayScale, float backgroundFraction) {
+        if (mAnimationTimeline != null) {
+            mAnimationTimeline.record(new AnimationTimeline.Frame(frameTime, isChecked(), mIsAnimating,
+                    getCheckedImageView().getTranslationY(), getNormalImageView().getTranslationY(), overlayScale,
+                    backgroundFraction));
+        }
+    }
+
+    /**
+     *
+     * @param fraction Progress of the background transition, from the fraction it started at towards the fraction of
+     *                 the current state
+     * @return The fraction of the checked background color now drawn
+     */
+    private float setBackgroundFraction(float fraction) {
+        float toFraction = isChecked() ? 1 : 0;
+        mBackgroundDrawable.setFraction(mBackgroundFromFraction
+                + (toFraction - mBackgroundFromFraction) * Math.min(1, fraction));
+        return mBackgroundDrawable.getFraction();
+    }
+
+    static int blendColors(int fromColor, int toColor, float fraction) {
+        return Color.argb(
+                (int) (Color.alpha(fromColor) + (Color.alpha(toColor) - Color.alpha(fromColor)) * fraction),
+                (int) (Color.red(fromColor) + (Color.red(toColor) - Color.red(fromColor)) * fraction),
+                (int) (Color.green(fromColor) + (Color.green(toColor) - Color.green(fromColor)) * fraction),
+                (int) (Color.blue(fromColor) + (Color.blue(toColor) - Color.blue(fromColor)) * fraction));
     }
 
     static class SavedState extends BaseSavedState {
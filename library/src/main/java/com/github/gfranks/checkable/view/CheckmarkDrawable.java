@@ -0,0 +1,187 @@
+package com.github.gfranks.checkable.view;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.util.SparseArray;
+
+/**
+ * Checked overlay drawn from vectors instead of a bitmap: a circle in the background color, an inner circle in the
+ * checkmark color and the checkmark stroked over it in the background color. Checkmark paths are cached per size and
+ * shared by all instances, and the checkmark can be drawn partially to animate its stroke.
+ */
+class CheckmarkDrawable extends Drawable {
+
+    /**
+     * Checkmark polyline as fractions of the drawable size
+     */
+    private static final float START_X = 6.5f / 24;
+    private static final float START_Y = 12f / 24;
+    private static final float CORNER_X = 10f / 24;
+    private static final float CORNER_Y = 15.5f / 24;
+    private static final float END_X = 17.5f / 24;
+    private static final float END_Y = 8f / 24;
+    private static final float STROKE_WIDTH = 1.8f / 24;
+    private static final float INSET = 1.5f / 30;
+
+    /**
+     * Full checkmark paths by size (in px), shared by all CheckmarkDrawables. Only used on the main thread
+     */
+    private static final SparseArray<Path> sCheckmarkPaths = new SparseArray<Path>();
+
+    private final Paint mFillPaint;
+    private final Paint mStrokePaint;
+    /**
+     * Path reused to draw a partial checkmark while its stroke animates
+     */
+    private final Path mPartialPath;
+    private int mBackgroundColor;
+    private int mCheckmarkColor;
+    private int mAlpha;
+    /**
+     * Fraction of the checkmark stroke drawn
+     */
+    private float mProgress;
+
+    CheckmarkDrawable() {
+        mFillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mFillPaint.setStyle(Paint.Style.FILL);
+        mStrokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mStrokePaint.setStyle(Paint.Style.STROKE);
+        mStrokePaint.setStrokeCap(Paint.Cap.ROUND);
+        mStrokePaint.setStrokeJoin(Paint.Join.ROUND);
+        mPartialPath = new Path();
+        mAlpha = 255;
+        mProgress = 1;
+    }
+
+    void setBackgroundColor(int backgroundColor) {
+        mBackgroundColor = backgroundColor;
+        invalidateSelf();
+    }
+
+    void setCheckmarkColor(int checkmarkColor) {
+        mCheckmarkColor = checkmarkColor;
+        invalidateSelf();
+    }
+
+    /**
+     *
+     * @param progress Fraction of the checkmark stroke to be drawn, clamped to [0, 1]
+     */
+    void setProgress(float progress) {
+        progress = Math.max(0, Math.min(1, progress));
+        if (mProgress != progress) {
+            mProgress = progress;
+            invalidateSelf();
+        }
+    }
+
+    float getProgress() {
+        return mProgress;
+    }
+
+    /**
+     * Drops all cached checkmark paths
+     */
+    static void clearCache() {
+        sCheckmarkPaths.clear();
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        Rect bounds = getBounds();
+        int size = Math.min(bounds.width(), bounds.height());
+        if (size <= 0) {
+            return;
+        }
+
+        float left = bounds.exactCenterX() - size / 2f;
+        float top = bounds.exactCenterY() - size / 2f;
+        float radius = size / 2f;
+
+        setPaintColor(mFillPaint, mBackgroundColor);
+        canvas.drawCircle(left + radius, top + radius, radius, mFillPaint);
+        setPaintColor(mFillPaint, mCheckmarkColor);
+        canvas.drawCircle(left + radius, top + radius, radius - size * INSET, mFillPaint);
+
+        if (mProgress <= 0) {
+            return;
+        }
+
+        setPaintColor(mStrokePaint, mBackgroundColor);
+        mStrokePaint.setStrokeWidth(size * STROKE_WIDTH);
+        canvas.save();
+        canvas.translate(left, top);
+        if (mProgress >= 1) {
+            canvas.drawPath(getCheckmarkPath(size), mStrokePaint);
+        } else {
+            canvas.drawPath(getPartialCheckmarkPath(size), mStrokePaint);
+        }
+        canvas.restore();
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        mAlpha = alpha;
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter cf) {
+        mFillPaint.setColorFilter(cf);
+        mStrokePaint.setColorFilter(cf);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    private void setPaintColor(Paint paint, int color) {
+        paint.setColor(color);
+        paint.setAlpha(Color.alpha(color) * mAlpha / 255);
+    }
+
+    private static Path getCheckmarkPath(int size) {
+        Path path = sCheckmarkPaths.get(size);
+        if (path == null) {
+            path = new Path();
+            path.moveTo(START_X * size, START_Y * size);
+            path.lineTo(CORNER_X * size, CORNER_Y * size);
+            path.lineTo(END_X * size, END_Y * size);
+            sCheckmarkPaths.put(size, path);
+        }
+
+        return path;
+    }
+
+    private Path getPartialCheckmarkPath(int size) {
+        float firstLength = length(START_X, START_Y, CORNER_X, CORNER_Y);
+        float drawnLength = (firstLength + length(CORNER_X, CORNER_Y, END_X, END_Y)) * mProgress;
+
+        mPartialPath.reset();
+        mPartialPath.moveTo(START_X * size, START_Y * size);
+        if (drawnLength <= firstLength) {
+            float fraction = drawnLength / firstLength;
+            mPartialPath.lineTo((START_X + (CORNER_X - START_X) * fraction) * size,
+                    (START_Y + (CORNER_Y - START_Y) * fraction) * size);
+        } else {
+            float fraction = (drawnLength - firstLength) / length(CORNER_X, CORNER_Y, END_X, END_Y);
+            mPartialPath.lineTo(CORNER_X * size, CORNER_Y * size);
+            mPartialPath.lineTo((CORNER_X + (END_X - CORNER_X) * fraction) * size,
+                    (CORNER_Y + (END_Y - CORNER_Y) * fraction) * size);
+        }
+        return mPartialPath;
+    }
+
+    private static float length(float fromX, float fromY, float toX, float toY) {
+        return (float) Math.hypot(toX - fromX, toY - fromY);
+    }
+}
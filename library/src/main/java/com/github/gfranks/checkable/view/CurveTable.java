@@ -0,0 +1,59 @@
+package com.github.gfranks.checkable.view;
+
+import android.animation.TimeInterpolator;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.AnticipateInterpolator;
+import android.view.animation.OvershootInterpolator;
+
+/**
+ * Interpolator sampled once into a lookup table, so animating CheckableViews share the curve and evaluating it each
+ * frame is a table lookup with linear interpolation between samples.
+ */
+class CurveTable {
+
+    private static final int SAMPLE_COUNT = 101;
+
+    /**
+     * Curve of the checked/normal image translation
+     */
+    static final CurveTable IMAGE_TRANSLATE = new CurveTable(new OvershootInterpolator(1.5f));
+    /**
+     * Curve of the single image color
+     */
+    static final CurveTable IMAGE_COLOR = new CurveTable(new AccelerateDecelerateInterpolator());
+    /**
+     * Curve of the checked overlay scaling up
+     */
+    static final CurveTable OVERLAY_SCALE_UP = new CurveTable(new OvershootInterpolator(4f));
+    /**
+     * Curve of the checked overlay scaling down
+     */
+    static final CurveTable OVERLAY_SCALE_DOWN = new CurveTable(new AnticipateInterpolator(4f));
+
+    private final float[] mValues;
+
+    CurveTable(TimeInterpolator interpolator) {
+        mValues = new float[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            mValues[i] = interpolator.getInterpolation(i / (float) (SAMPLE_COUNT - 1));
+        }
+    }
+
+    /**
+     *
+     * @param fraction Elapsed fraction of the animation, clamped to [0, 1]
+     * @return Interpolated fraction of the animation
+     */
+    float get(float fraction) {
+        if (fraction <= 0) {
+            return mValues[0];
+        }
+        if (fraction >= 1) {
+            return mValues[SAMPLE_COUNT - 1];
+        }
+
+        float position = fraction * (SAMPLE_COUNT - 1);
+        int index = (int) position;
+        return mValues[index] + (mValues[index + 1] - mValues[index]) * (position - index);
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.gfranks.checkable.view;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AnimationClock which only moves when advanced. Frames are produced by {@link #advance(long)} rather than by the
+ * display, so CheckableViews driven by a manual clock animate even when they are not attached or not on screen. Meant
+ * for tests and benchmarks, must only be used on the main thread.
+ */
+public class ManualAnimationClock implements AnimationClock {
+
+    /**
+     * Frame interval of a 60fps display, in milliseconds
+     */
+    public static final long DEFAULT_FRAME_INTERVAL = 16;
+
+    private final List<AnimationDriver> mAnimationDrivers;
+    private long mFrameTime;
+
+    public ManualAnimationClock() {
+        mAnimationDrivers = new ArrayList<AnimationDriver>();
+    }
+
+    @Override
+    public long getFrameTime() {
+        return mFrameTime;
+    }
+
+    /**
+     * Moves the clock forward and produces one frame, advancing every animating CheckableView driven by this clock
+     *
+     * @param millis Time to move the clock forward by, in milliseconds
+     * @return Number of CheckableViews advanced during the frame
+     */
+    public int advance(long millis) {
+        mFrameTime += millis;
+        int advanced = 0;
+        for (int i = 0; i < mAnimationDrivers.size(); i++) {
+            advanced += mAnimationDrivers.get(i).doFrame();
+        }
+
+        return advanced;
+    }
+
+    /**
+     * Produces frames at the given interval until no CheckableView driven by this clock is animating
+     *
+     * @param frameInterval Time between two frames, in milliseconds
+     * @param maxFrames Maximum number of frames to be produced
+     * @return Number of frames produced
+     */
+    public int advanceUntilIdle(long frameInterval, int maxFrames) {
+        int frames = 0;
+        while (frames < maxFrames && getAnimatingCount() > 0) {
+            advance(frameInterval);
+            frames++;
+        }
+
+        return frames;
+    }
+
+    /**
+     *
+     * @return Number of CheckableViews currently animating on this clock
+     */
+    public int getAnimatingCount() {
+        int animating = 0;
+        for (int i = 0; i < mAnimationDrivers.size(); i++) {
+            animating += mAnimationDrivers.get(i).getAnimatingCount();
+        }
+
+        return animating;
+    }
+
+    void attach(AnimationDriver animationDriver) {
+        if (!mAnimationDrivers.contains(animationDriver)) {
+            mAnimationDrivers.add(animationDriver);
+        }
+    }
+
+    void detach(AnimationDriver animationDriver) {
+        mAnimationDrivers.remove(animationDriver);
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.gfranks.checkable.view;
+
+/**
+ * Opt-in counters of the work CheckableViews do to inflate, configure and animate themselves, and of the work
+ * CheckableGroups do to find them. Each CheckableView and CheckableGroup keeps its own counters, and every count is
+ * also added to a process-wide instance retrieved by {@link #getGlobal()}. Counting is disabled by default and must be
+ * enabled with {@link #setEnabled(boolean)}. Counters are updated on the main thread only.
+ */
+public class RenderStats {
+
+    /**
+     * Whether counting is enabled for all CheckableViews
+     */
+    private static boolean sEnabled;
+    /**
+     * Process-wide counters aggregating every CheckableView
+     */
+    private static final RenderStats sGlobal = new RenderStats();
+
+    /**
+     * Number of times the CheckableView layout has been inflated
+     */
+    private long mInflations;
+    /**
+     * Number of times the image container or checked overlay background drawables have been rebuilt
+     */
+    private long mDrawableRebuilds;
+    /**
+     * Number of layout requests made by setting the label
+     */
+    private long mLayoutRequests;
+    /**
+     * Number of animators and animations created
+     */
+    private long mAnimatorsCreated;
+    /**
+     * Number of times a CheckableGroup searched its hierarchy for CheckableViews
+     */
+    private long mHierarchyScans;
+
+    /**
+     *
+     * @param enabled Boolean to enable or disable counting for all CheckableViews
+     */
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    /**
+     *
+     * @return Boolean determining if counting is enabled
+     * @see #setEnabled(boolean)
+     */
+    public static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    /**
+     *
+     * @return Process-wide counters aggregating every CheckableView
+     */
+    public static RenderStats getGlobal() {
+        return sGlobal;
+    }
+
+    /**
+     *
+     * @return Number of times the CheckableView layout has been inflated
+     */
+    public long getInflations() {
+        return mInflations;
+    }
+
+    /**
+     *
+     * @return Number of times the image container or checked overlay background drawables have been rebuilt
+     */
+    public long getDrawableRebuilds() {
+        return mDrawableRebuilds;
+    }
+
+    /**
+     *
+     * @return Number of layout requests made by setting the label
+     */
+    public long getLayoutRequests() {
+        return mLayoutRequests;
+    }
+
+    /**
+     *
+     * @return Number of animators and animations created
+     */
+    public long getAnimatorsCreated() {
+        return mAnimatorsCreated;
+    }
+
+    /**
+     *
+     * @return Number of times a CheckableGroup searched its hierarchy for CheckableViews
+     */
+    public long getHierarchyScans() {
+        return mHierarchyScans;
+    }
+
+    /**
+     * Resets all counters to 0
+     */
+    public void reset() {
+        mInflations = 0;
+        mDrawableRebuilds = 0;
+        mLayoutRequests = 0;
+        mAnimatorsCreated = 0;
+        mHierarchyScans = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RenderStats{inflations=" + mInflations +
+                ", drawableRebuilds=" + mDrawableRebuilds +
+                ", layoutRequests=" + mLayoutRequests +
+                ", animatorsCreated=" + mAnimatorsCreated +
+                ", hierarchyScans=" + mHierarchyScans + "}";
+    }
+
+    void add(RenderStats other) {
+        mInflations += other.mInflations;
+        mDrawableRebuilds += other.mDrawableRebuilds;
+        mLayoutRequests += other.mLayoutRequests;
+        mAnimatorsCreated += other.mAnimatorsCreated;
+        mHierarchyScans += other.mHierarchyScans;
+    }
+
+    void recordInflation() {
+        if (sEnabled) {
+            mInflations++;
+            sGlobal.mInflations++;
+        }
+    }
+
+    void recordDrawableRebuild() {
+        if (sEnabled) {
+            mDrawableRebuilds++;
+            sGlobal.mDrawableRebuilds++;
+        }
+    }
+
+    void recordLayoutRequest() {
+        if (sEnabled) {
+            mLayoutRequests++;
+            sGlobal.mLayoutRequests++;
+        }
+    }
+
+    void recordAnimatorCreated() {
+        if (sEnabled) {
+            mAnimatorsCreated++;
+            sGlobal.mAnimatorsCreated++;
+        }
+    }
+
+    void recordHierarchyScan() {
+        if (sEnabled) {
+            mHierarchyScans++;
+            sGlobal.mHierarchyScans++;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.gfranks.checkable.view;
+
+import android.view.View;
+import android.view.ViewTreeObserver;
+import android.view.animation.AnimationUtils;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Records when anything in a window last scrolled. One tracker is shared by every CheckableView attached to the same
+ * window, so a ListView, ScrollView or RecyclerView full of CheckableViews registers a single scroll listener. Must
+ * only be used on the main thread.
+ */
+class ScrollTracker implements ViewTreeObserver.OnScrollChangedListener {
+
+    /**
+     * Time after the last scroll during which the window is still considered to be scrolling
+     */
+    static final int SCROLL_SETTLE_DURATION = 150;
+
+    private static final Map<View, ScrollTracker> sTrackers = new WeakHashMap<View, ScrollTracker>();
+
+    private long mLastScrollTime = -SCROLL_SETTLE_DURATION;
+
+    private ScrollTracker() {
+    }
+
+    /**
+     *
+     * @param view Attached View
+     * @return Tracker of the window the View is attached to
+     */
+    static ScrollTracker get(View view) {
+        View rootView = view.getRootView();
+        ScrollTracker scrollTracker = sTrackers.get(rootView);
+        if (scrollTracker == null) {
+            scrollTracker = new ScrollTracker();
+            rootView.getViewTreeObserver().addOnScrollChangedListener(scrollTracker);
+            sTrackers.put(rootView, scrollTracker);
+        }
+
+        return scrollTracker;
+    }
+
+    /**
+     *
+     * @return Boolean determining if the window has scrolled within the last {@link #SCROLL_SETTLE_DURATION}
+     */
+    boolean isScrolling() {
+        return AnimationUtils.currentAnimationTimeMillis() - mLastScrollTime < SCROLL_SETTLE_DURATION;
+    }
+
+    @Override
+    public void onScrollChanged() {
+        mLastScrollTime = AnimationUtils.currentAnimationTimeMillis();
+    }
+}
@@ -0,0 +1,229 @@
+package com.github.gfranks.checkable.view;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Enforces single or multiple selection across CheckableViews wherever they sit in the layout, such as across tabs,
+ * dialogs or separate containers. Unlike a CheckableGroup it is not a View and never searches a hierarchy: members
+ * join explicitly with {@link CheckableView#setSelectionDomain(SelectionDomain)} and every state change costs O(1).
+ * Members are held weakly, so a domain outliving a dialog or tab does not keep its CheckableViews or their Context
+ * alive. Must only be used on the main thread.
+ */
+public class SelectionDomain {
+
+    /**
+     * Whether one or many member CheckableViews may be checked at once
+     */
+    private CheckableGroup.ChoiceMode mChoiceMode;
+    /**
+     * The currently checked member, or the last checked one when multiple may be checked
+     */
+    private WeakReference<CheckableView> mCheckedView;
+    /**
+     * All member CheckableViews
+     */
+    private final Set<CheckableView> mMembers;
+    /**
+     * The checked member CheckableViews, mapped to the sequence number of when they were checked
+     */
+    private final Map<CheckableView, Long> mCheckedViews;
+    private long mCheckSequence;
+    /**
+     * Listener to receive onCheckedChange callbacks when a member CheckableView's checked state changes
+     */
+    private OnCheckedChangeListener mOnCheckedChangeListener;
+
+    public SelectionDomain() {
+        this(CheckableGroup.ChoiceMode.SINGLE);
+    }
+
+    /**
+     *
+     * @param choiceMode ChoiceMode enum to determine if one or many member CheckableViews may be checked at once
+     */
+    public SelectionDomain(CheckableGroup.ChoiceMode choiceMode) {
+        mChoiceMode = choiceMode;
+        mMembers = Collections.newSetFromMap(new WeakHashMap<CheckableView, Boolean>());
+        mCheckedViews = new WeakHashMap<CheckableView, Long>();
+    }
+
+    /**
+     *
+     * @param onCheckedChangeListener Listener to receive onCheckedChange callbacks when a member CheckableView's checked state changes
+     */
+    public void setOnCheckedChangeListener(OnCheckedChangeListener onCheckedChangeListener) {
+        mOnCheckedChangeListener = onCheckedChangeListener;
+    }
+
+    /**
+     *
+     * @return ChoiceMode enum determining if one or many member CheckableViews may be checked at once
+     */
+    public CheckableGroup.ChoiceMode getChoiceMode() {
+        return mChoiceMode;
+    }
+
+    /**
+     *
+     * @param choiceMode ChoiceMode enum to determine if one or many member CheckableViews may be checked at once.
+     *                   Switching to SINGLE unchecks all but the last checked CheckableView
+     */
+    public void setChoiceMode(CheckableGroup.ChoiceMode choiceMode) {
+        mChoiceMode = choiceMode;
+        if (mChoiceMode == CheckableGroup.ChoiceMode.SINGLE && mCheckedViews.size() > 1) {
+            List<CheckableView> checkedViews = getCheckedCheckableViews();
+            CheckableView keptView = getCheckedCheckableView() != null ? getCheckedCheckableView()
+                    : checkedViews.get(checkedViews.size() - 1);
+            for (int i=0; i<checkedViews.size(); i++) {
+                if (checkedViews.get(i) != keptView) {
+                    checkedViews.get(i).setChecked(false);
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @return Number of member CheckableViews
+     */
+    public int size() {
+        return mMembers.size();
+    }
+
+    /**
+     *
+     * @param checkableView CheckableView to be looked up
+     * @return Boolean determining if the CheckableView is a member of this domain
+     */
+    public boolean contains(CheckableView checkableView) {
+        return mMembers.contains(checkableView);
+    }
+
+    /**
+     *
+     * @return Retrieve the current checked CheckableView, or the last checked one when multiple may be checked
+     */
+    public CheckableView getCheckedCheckableView() {
+        return mCheckedView != null ? mCheckedView.get() : null;
+    }
+
+    /**
+     *
+     * @return Retrieve all the checked member CheckableViews, in the order they were checked
+     */
+    public List<CheckableView> getCheckedCheckableViews() {
+        List<CheckableView> checkedViews = new ArrayList<CheckableView>(mCheckedViews.keySet());
+        Collections.sort(checkedViews, new Comparator<CheckableView>() {
+            @Override
+            public int compare(CheckableView lhs, CheckableView rhs) {
+                long lhsSequence = mCheckedViews.get(lhs);
+                long rhsSequence = mCheckedViews.get(rhs);
+                return lhsSequence < rhsSequence ? -1 : (lhsSequence == rhsSequence ? 0 : 1);
+            }
+        });
+
+        return checkedViews;
+    }
+
+    /**
+     *
+     * @return Number of checked member CheckableViews
+     */
+    public int getCheckedCount() {
+        return mCheckedViews.size();
+    }
+
+    /**
+     * Unchecks every checked member CheckableView
+     */
+    public void clearChecked() {
+        for (CheckableView checkableView : new ArrayList<CheckableView>(mCheckedViews.keySet())) {
+            checkableView.setChecked(false);
+        }
+    }
+
+    void add(CheckableView checkableView) {
+        if (mMembers.add(checkableView) && checkableView.isChecked()) {
+            onCheckedChanged(checkableView, true);
+        }
+    }
+
+    void remove(CheckableView checkableView) {
+        if (mMembers.remove(checkableView)) {
+            mCheckedViews.remove(checkableView);
+            if (getCheckedCheckableView() == checkableView) {
+                mCheckedView = null;
+            }
+        }
+    }
+
+    void onCheckedChanged(CheckableView checkableView, boolean isChecked) {
+        if (updateChecked(checkableView, isChecked, false) && mOnCheckedChangeListener != null) {
+            mOnCheckedChangeListener.onCheckedChanged(this, checkableView, isChecked);
+        }
+    }
+
+    /**
+     * Syncs the selection with a member bound by an adapter, without notifying the OnCheckedChangeListener
+     *
+     * @param checkableView Member CheckableView whose state was bound
+     * @param isChecked The bound state of the CheckableView
+     * @see CheckableView#bind(int, int, String, boolean)
+     */
+    void onCheckableViewBound(CheckableView checkableView, boolean isChecked) {
+        updateChecked(checkableView, isChecked, true);
+    }
+
+    /**
+     *
+     * @param checkableView Member CheckableView whose state changed
+     * @param isChecked The new state of the CheckableView
+     * @param isBound Boolean determining if a previously checked member is to be unchecked silently as well
+     * @return Boolean determining if the checked members changed
+     */
+    private boolean updateChecked(CheckableView checkableView, boolean isChecked, boolean isBound) {
+        if (isChecked) {
+            if (mCheckedViews.containsKey(checkableView)) {
+                return false;
+            }
+            mCheckedViews.put(checkableView, mCheckSequence++);
+            CheckableView previousCheckedView = getCheckedCheckableView();
+            mCheckedView = new WeakReference<CheckableView>(checkableView);
+            if (mChoiceMode == CheckableGroup.ChoiceMode.SINGLE && previousCheckedView != null
+                    && previousCheckedView != checkableView && previousCheckedView.isChecked()) {
+                if (isBound) {
+                    previousCheckedView.bindChecked(false);
+                } else {
+                    previousCheckedView.setChecked(false);
+                }
+            }
+        } else {
+            if (mCheckedViews.remove(checkableView) == null) {
+                return false;
+            }
+            if (checkableView == getCheckedCheckableView()) {
+                mCheckedView = null;
+            }
+        }
+
+        return true;
+    }
+
+    public static interface OnCheckedChangeListener {
+        /**
+         * Called when the checked state of a member CheckableView has changed.
+         *
+         * @param selectionDomain The SelectionDomain which the CheckableView belongs to
+         * @param checkableView The CheckableView view whose state has changed.
+         * @param isChecked  The new checked state of CheckableView.
+         */
+        void onCheckedChanged(SelectionDomain selectionDomain, CheckableView checkableView, boolean isChecked);
+    }
+}
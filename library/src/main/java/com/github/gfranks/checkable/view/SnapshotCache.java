@@ -0,0 +1,70 @@
+package com.github.gfranks.checkable.view;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+/**
+ * Process-wide cache of rendered idle CheckableViews, keyed by everything that affects their appearance. CheckableViews
+ * with the same style, images, label, size and checked state share one Bitmap. Only used on the main thread.
+ */
+class SnapshotCache {
+
+    /**
+     * Fraction of the maximum heap the cached snapshots may use
+     */
+    private static final int MAX_HEAP_DIVISOR = 16;
+
+    private static LruCache<String, Bitmap> sSnapshots;
+
+    private SnapshotCache() {
+    }
+
+    static Bitmap get(String key) {
+        return getSnapshots().get(key);
+    }
+
+    static void put(String key, Bitmap snapshot) {
+        getSnapshots().put(key, snapshot);
+    }
+
+    /**
+     *
+     * @return Number of bytes used by the cached snapshots
+     */
+    static int size() {
+        return sSnapshots != null ? sSnapshots.size() : 0;
+    }
+
+    /**
+     * Drops the least recently used snapshots until the cache uses at most the given number of bytes
+     *
+     * @param maxSize Number of bytes the cached snapshots may still use
+     */
+    static void trimToSize(int maxSize) {
+        if (sSnapshots != null) {
+            sSnapshots.trimToSize(maxSize);
+        }
+    }
+
+    /**
+     * Drops all cached snapshots
+     */
+    static void clear() {
+        if (sSnapshots != null) {
+            sSnapshots.evictAll();
+        }
+    }
+
+    private static LruCache<String, Bitmap> getSnapshots() {
+        if (sSnapshots == null) {
+            sSnapshots = new LruCache<String, Bitmap>((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / MAX_HEAP_DIVISOR)) {
+                @Override
+                protected int sizeOf(String key, Bitmap value) {
+                    return value.getRowBytes() * value.getHeight();
+                }
+            };
+        }
+
+        return sSnapshots;
+    }
+}
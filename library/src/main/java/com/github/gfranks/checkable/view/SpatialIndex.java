@@ -0,0 +1,142 @@
+package com.github.gfranks.checkable.view;
+
+import android.graphics.Rect;
+import android.util.SparseArray;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform grid over the bounds of the CheckableViews of a CheckableGroup, in the group's coordinates. Finding the
+ * CheckableView under a point only tests the few CheckableViews whose bounds overlap the point's cell, whatever the
+ * number of CheckableViews. Built from the laid out hierarchy, so it must be rebuilt after every layout pass.
+ * <p>
+ * Cells are sized from the median CheckableView rather than the smallest, so a single small CheckableView does not
+ * make every large one register in many cells.
+ */
+class SpatialIndex {
+
+    private final Rect mBounds = new Rect();
+    /**
+     * Entries overlapping each cell, keyed by row * column count + column
+     */
+    private final SparseArray<List<Entry>> mCells;
+    private final List<Entry> mEntries;
+    private int mCellSize;
+    private int mMinEntrySize;
+    private int mColumnCount;
+
+    SpatialIndex() {
+        mCells = new SparseArray<List<Entry>>();
+        mEntries = new ArrayList<Entry>();
+    }
+
+    /**
+     *
+     * @return Size in pixels of the shortest side of the smallest CheckableView, 0 if none was indexed
+     */
+    int getMinEntrySize() {
+        return mMinEntrySize;
+    }
+
+    /**
+     *
+     * @return Number of cells overlapped by at least one CheckableView
+     */
+    int getCellCount() {
+        return mCells.size();
+    }
+
+    /**
+     * Indexes the current bounds of the CheckableViews
+     *
+     * @param root ViewGroup whose coordinates are used
+     * @param checkableViews CheckableViews found below the root
+     */
+    void rebuild(ViewGroup root, List<CheckableView> checkableViews) {
+        mCells.clear();
+        mEntries.clear();
+        for (int i=0; i<checkableViews.size(); i++) {
+            CheckableView checkableView = checkableViews.get(i);
+            if (checkableView.getWidth() <= 0 || checkableView.getHeight() <= 0 || checkableView.getParent() == null) {
+                continue;
+            }
+
+            Rect bounds = new Rect(0, 0, checkableView.getWidth(), checkableView.getHeight());
+            root.offsetDescendantRectToMyCoords(checkableView, bounds);
+            mEntries.add(new Entry(checkableView, bounds));
+        }
+        if (mEntries.isEmpty()) {
+            mCellSize = 0;
+            mMinEntrySize = 0;
+            return;
+        }
+
+        int[] entrySizes = new int[mEntries.size()];
+        for (int i=0; i<mEntries.size(); i++) {
+            Rect bounds = mEntries.get(i).mBounds;
+            entrySizes[i] = Math.min(bounds.width(), bounds.height());
+        }
+        Arrays.sort(entrySizes);
+        mMinEntrySize = entrySizes[0];
+        mCellSize = entrySizes[entrySizes.length / 2];
+
+        mBounds.set(0, 0, root.getWidth(), root.getHeight());
+        mColumnCount = mBounds.width() / mCellSize + 1;
+        for (int i=0; i<mEntries.size(); i++) {
+            Entry entry = mEntries.get(i);
+            Rect bounds = entry.mBounds;
+            for (int row = getCell(bounds.top); row <= getCell(bounds.bottom - 1); row++) {
+                for (int column = getCell(bounds.left); column <= getCell(bounds.right - 1); column++) {
+                    int cell = row * mColumnCount + column;
+                    List<Entry> cellEntries = mCells.get(cell);
+                    if (cellEntries == null) {
+                        cellEntries = new ArrayList<Entry>(2);
+                        mCells.put(cell, cellEntries);
+                    }
+                    cellEntries.add(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @param x Horizontal position in the root's coordinates
+     * @param y Vertical position in the root's coordinates
+     * @return The CheckableView under the point, or null if none
+     */
+    CheckableView find(int x, int y) {
+        if (mCellSize <= 0 || !mBounds.contains(x, y)) {
+            return null;
+        }
+
+        List<Entry> cellEntries = mCells.get(getCell(y) * mColumnCount + getCell(x));
+        if (cellEntries == null) {
+            return null;
+        }
+        for (int i=0; i<cellEntries.size(); i++) {
+            if (cellEntries.get(i).mBounds.contains(x, y)) {
+                return cellEntries.get(i).mCheckableView;
+            }
+        }
+
+        return null;
+    }
+
+    private int getCell(int position) {
+        return Math.max(0, position) / mCellSize;
+    }
+
+    private static class Entry {
+        private final CheckableView mCheckableView;
+        private final Rect mBounds;
+
+        Entry(CheckableView checkableView, Rect bounds) {
+            mCheckableView = checkableView;
+            mBounds = bounds;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.gfranks.checkable.view;
+
+import android.annotation.TargetApi;
+import android.app.ActivityManager;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.os.Build;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.provider.Settings;
+
+/**
+ * Resolves {@link CheckableView.AnimationPolicy#AUTO} from system signals: the animator duration scale set in the
+ * developer or accessibility settings, power save mode (API 21+) and low RAM devices (API 19+). Reading the signals
+ * involves binder calls, so the result is cached for {@link #CACHE_DURATION}. Only used on the main thread.
+ */
+class SystemAnimationPolicy {
+
+    static final int CACHE_DURATION = 1000;
+
+    private static CheckableView.AnimationPolicy sAnimationPolicy;
+    private static float sDurationScale = 1;
+    private static long sResolvedTime;
+
+    private SystemAnimationPolicy() {
+    }
+
+    /**
+     *
+     * @param context Context used to read the system signals
+     * @return FULL, REDUCED or NONE
+     */
+    static CheckableView.AnimationPolicy get(Context context) {
+        ensureResolved(context);
+        return sAnimationPolicy;
+    }
+
+    /**
+     *
+     * @param context Context used to read the system signals
+     * @return Animator duration scale set by the user, 1 by default
+     */
+    static float getDurationScale(Context context) {
+        ensureResolved(context);
+        return sDurationScale;
+    }
+
+    private static void ensureResolved(Context context) {
+        long now = SystemClock.uptimeMillis();
+        if (sAnimationPolicy != null && now - sResolvedTime < CACHE_DURATION) {
+            return;
+        }
+
+        sResolvedTime = now;
+        sDurationScale = readDurationScale(context.getContentResolver());
+        if (sDurationScale == 0) {
+            sAnimationPolicy = CheckableView.AnimationPolicy.NONE;
+        } else if (isPowerSaveMode(context) || isLowRamDevice(context)) {
+            sAnimationPolicy = CheckableView.AnimationPolicy.REDUCED;
+        } else {
+            sAnimationPolicy = CheckableView.AnimationPolicy.FULL;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static float readDurationScale(ContentResolver contentResolver) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+            return Settings.Global.getFloat(contentResolver, Settings.Global.ANIMATOR_DURATION_SCALE, 1);
+        }
+
+        return Settings.System.getFloat(contentResolver, Settings.System.ANIMATOR_DURATION_SCALE, 1);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private static boolean isPowerSaveMode(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return false;
+        }
+
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        return powerManager != null && powerManager.isPowerSaveMode();
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private static boolean isLowRamDevice(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+            return false;
+        }
+
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        return activityManager != null && activityManager.isLowRamDevice();
+    }
+}